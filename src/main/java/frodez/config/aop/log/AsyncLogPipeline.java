@@ -0,0 +1,421 @@
+package frodez.config.aop.log;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import frodez.util.json.JSONUtil;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * 异步日志管道<br>
+ * 参数和返回值由请求线程序列化为json快照后发布到disruptor环形队列,由单独的消费线程完成日志格式化和输出。<br>
+ * 参数和返回值在方法执行中和执行后仍可能被修改,因此必须在请求线程上序列化,日志记录的是发布时的状态。<br>
+ * 请求线程只做采样判断、有长度上限的序列化和一次无锁发布,不创建Map;队列满时直接丢弃日志,不阻塞请求。<br>
+ * 消费线程使用SleepingWaitStrategy等待,发布时不需要唤醒消费线程,请求线程上没有锁。<br>
+ * 序列化时输出长度超过上限即截断,大返回值不会产生超大字符串。<br>
+ * 日志通过Target中的logger输出,日志分类仍为对应的切面类(如ParamLogAdvisor),原有的日志级别配置继续生效。<br>
+ * @author Frodez
+ * @date 2019-05-25
+ */
+@Slf4j
+@Component
+@DependsOn("jsonUtil")
+public class AsyncLogPipeline {
+
+	/**
+	 * 环形队列大小,必须为2的幂
+	 */
+	private static final int BUFFER_SIZE = 1 << 12;
+
+	/**
+	 * 截断标识
+	 */
+	private static final String TRUNCATED = "...(已截断)";
+
+	private static final EventTranslatorTwoArg<Event, Target, String> PARAM_TRANSLATOR = (event, sequence, target,
+		value) -> event.set(target, true, value);
+
+	private static final EventTranslatorTwoArg<Event, Target, String> RESULT_TRANSLATOR = (event, sequence, target,
+		value) -> event.set(target, false, value);
+
+	private Disruptor<Event> disruptor;
+
+	private RingBuffer<Event> ringBuffer;
+
+	private ObjectMapper mapper;
+
+	private final LongAdder published = new LongAdder();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final LongAdder truncated = new LongAdder();
+
+	@PostConstruct
+	private void init() {
+		mapper = JSONUtil.mapper();
+		disruptor = new Disruptor<>(Event::new, BUFFER_SIZE, runnable -> {
+			Thread thread = new Thread(runnable, "async-log-pipeline");
+			thread.setDaemon(true);
+			return thread;
+		}, ProducerType.MULTI, new SleepingWaitStrategy());
+		disruptor.handleEventsWith(new Handler());
+		disruptor.setDefaultExceptionHandler(new LogExceptionHandler());
+		ringBuffer = disruptor.start();
+	}
+
+	@PreDestroy
+	private void destroy() {
+		try {
+			disruptor.shutdown(1, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			disruptor.halt();
+		}
+	}
+
+	/**
+	 * 发布参数日志,在调用线程上序列化参数
+	 * @param target 日志目标
+	 * @param args 参数
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public void param(Target target, Object[] args) {
+		publish(PARAM_TRANSLATOR, target, serialize(target, true, args));
+	}
+
+	/**
+	 * 发布返回值日志,在调用线程上序列化返回值
+	 * @param target 日志目标
+	 * @param result 返回值
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public void result(Target target, Object result) {
+		publish(RESULT_TRANSLATOR, target, serialize(target, false, result));
+	}
+
+	private void publish(EventTranslatorTwoArg<Event, Target, String> translator, Target target, String value) {
+		if (ringBuffer.tryPublishEvent(translator, target, value)) {
+			published.increment();
+		} else {
+			dropped.increment();
+		}
+	}
+
+	/**
+	 * 获取管道状态
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public Status status() {
+		Status status = new Status();
+		status.setBufferSize(BUFFER_SIZE);
+		status.setRemaining(ringBuffer.remainingCapacity());
+		status.setPublished(published.sum());
+		status.setDropped(dropped.sum());
+		status.setTruncated(truncated.sum());
+		return status;
+	}
+
+	private String serialize(Target target, boolean param, Object value) {
+		LimitedWriter writer = new LimitedWriter(target.maxLength);
+		try {
+			if (param) {
+				Object[] args = (Object[]) value;
+				JsonGenerator generator = mapper.getFactory().createGenerator(writer);
+				generator.writeStartObject();
+				for (int i = 0; i < args.length; i++) {
+					generator.writeFieldName(target.parameterNames[i]);
+					mapper.writeValue(generator, args[i]);
+				}
+				generator.writeEndObject();
+				generator.close();
+			} else {
+				mapper.writeValue(writer, value);
+			}
+		} catch (Exception e) {
+			if (!writer.isFull()) {
+				return "序列化失败:" + e.getMessage();
+			}
+		}
+		if (writer.isFull()) {
+			truncated.increment();
+			return writer.toString().concat(TRUNCATED);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * 日志目标,每个被拦截的方法对应一个,在切面匹配时创建
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	@Getter
+	public static class Target {
+
+		/**
+		 * 日志输出使用的logger,为对应切面类的logger
+		 */
+		private final Logger logger;
+
+		/**
+		 * 方法全名
+		 */
+		private final String name;
+
+		/**
+		 * 参数名
+		 */
+		private final String[] parameterNames;
+
+		/**
+		 * 采样率
+		 */
+		private final double sampleRate;
+
+		/**
+		 * 最大长度
+		 */
+		private final int maxLength;
+
+		public Target(Logger logger, String name, Method method, double sampleRate, int maxLength) {
+			if (sampleRate <= 0 || sampleRate > 1) {
+				throw new IllegalArgumentException("采样率必须在(0, 1]之间!");
+			}
+			if (maxLength <= 0) {
+				throw new IllegalArgumentException("最大长度必须大于0!");
+			}
+			Parameter[] parameters = method.getParameters();
+			this.parameterNames = new String[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				parameterNames[i] = parameters[i].getName();
+			}
+			this.logger = logger;
+			this.name = name;
+			this.sampleRate = sampleRate;
+			this.maxLength = maxLength;
+		}
+
+		/**
+		 * 是否需要记录日志。日志级别未开启时,请求线程上不做任何额外工作
+		 * @author Frodez
+		 * @date 2019-05-25
+		 */
+		public boolean enabled() {
+			return logger.isInfoEnabled();
+		}
+
+		/**
+		 * 判断本次调用是否被采样
+		 * @author Frodez
+		 * @date 2019-05-25
+		 */
+		public boolean sample() {
+			return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+		}
+
+	}
+
+	/**
+	 * 管道状态
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	@Data
+	public static class Status {
+
+		/**
+		 * 队列大小
+		 */
+		private int bufferSize;
+
+		/**
+		 * 队列剩余容量
+		 */
+		private long remaining;
+
+		/**
+		 * 已发布日志数
+		 */
+		private long published;
+
+		/**
+		 * 因队列已满丢弃的日志数
+		 */
+		private long dropped;
+
+		/**
+		 * 被截断的日志数
+		 */
+		private long truncated;
+
+	}
+
+	/**
+	 * 队列中的事件,由disruptor预先分配并循环使用
+	 */
+	private static class Event {
+
+		private Target target;
+
+		private boolean param;
+
+		/**
+		 * 序列化后的参数或返回值
+		 */
+		private String value;
+
+		void set(Target target, boolean param, String value) {
+			this.target = target;
+			this.param = param;
+			this.value = value;
+		}
+
+		void clear() {
+			target = null;
+			value = null;
+		}
+
+	}
+
+	/**
+	 * 消费者
+	 */
+	private class Handler implements EventHandler<Event> {
+
+		@Override
+		public void onEvent(Event event, long sequence, boolean endOfBatch) {
+			try {
+				if (event.param) {
+					event.target.logger.info("{} 请求参数:{}", event.target.name, event.value);
+				} else {
+					event.target.logger.info("{} 返回值:{}", event.target.name, event.value);
+				}
+			} finally {
+				//及时释放引用,避免日志内容被环形队列长期持有
+				event.clear();
+			}
+		}
+
+	}
+
+	/**
+	 * 异常处理器,只记录异常,不中断消费线程
+	 */
+	private static class LogExceptionHandler implements ExceptionHandler<Object> {
+
+		@Override
+		public void handleEventException(Throwable ex, long sequence, Object event) {
+			log.error("[handleEventException]", ex);
+		}
+
+		@Override
+		public void handleOnStartException(Throwable ex) {
+			log.error("[handleOnStartException]", ex);
+		}
+
+		@Override
+		public void handleOnShutdownException(Throwable ex) {
+			log.error("[handleOnShutdownException]", ex);
+		}
+
+	}
+
+	/**
+	 * 有长度上限的Writer,写满后抛出异常以尽早中止序列化
+	 */
+	private static class LimitedWriter extends Writer {
+
+		private final StringBuilder builder;
+
+		private final int limit;
+
+		private boolean full;
+
+		LimitedWriter(int limit) {
+			this.builder = new StringBuilder(Math.min(limit, 256));
+			this.limit = limit;
+		}
+
+		boolean isFull() {
+			return full;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws LimitException {
+			int remaining = limit - builder.length();
+			if (len > remaining) {
+				builder.append(cbuf, off, remaining);
+				full = true;
+				throw LimitException.INSTANCE;
+			}
+			builder.append(cbuf, off, len);
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws LimitException {
+			int remaining = limit - builder.length();
+			if (len > remaining) {
+				builder.append(str, off, off + remaining);
+				full = true;
+				throw LimitException.INSTANCE;
+			}
+			builder.append(str, off, off + len);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String toString() {
+			return builder.toString();
+		}
+
+	}
+
+	/**
+	 * 写满异常,不记录堆栈
+	 */
+	private static class LimitException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		static final LimitException INSTANCE = new LimitException();
+
+		private LimitException() {
+			super("limit reached", null);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+	}
+
+}
@@ -1,8 +1,10 @@
 package frodez.config.aop.log;
 
 import frodez.config.aop.log.annotation.DurationLog;
+import frodez.config.aop.log.latency.LatencyHistogram;
 import frodez.util.reflect.ReflectUtil;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +32,26 @@ public class DurationLogAdvisor implements PointcutAdvisor {
 	 */
 	private Map<String, Long> thresholdCache = new ConcurrentHashMap<>();
 
+	/**
+	 * 耗时直方图缓存
+	 */
+	private Map<String, LatencyHistogram> histogramCache = new ConcurrentHashMap<>();
+
 	private long times = 1000 * 1000;
 
+	/**
+	 * 获取所有方法的耗时分布
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public Map<String, LatencyHistogram.Status> status() {
+		Map<String, LatencyHistogram.Status> result = new HashMap<>();
+		for (Map.Entry<String, LatencyHistogram> entry : histogramCache.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().status());
+		}
+		return result;
+	}
+
 	/**
 	 * AOP切点
 	 * @author Frodez
@@ -40,7 +60,7 @@ public class DurationLogAdvisor implements PointcutAdvisor {
 	@Override
 	public Advice getAdvice() {
 		/**
-		 * 检测出耗时过高的方法调用并在日志中告警
+		 * 记录方法耗时分布(包括抛出异常的调用),并检测出耗时过高的方法调用在日志中告警
 		 * @param JoinPoint AOP切点
 		 * @author Frodez
 		 * @throws Throwable
@@ -49,13 +69,17 @@ public class DurationLogAdvisor implements PointcutAdvisor {
 		return (MethodInterceptor) invocation -> {
 			String name = ReflectUtil.getFullMethodName(invocation.getMethod());
 			long threshold = thresholdCache.get(name);
-			long count = System.nanoTime();
-			Object result = invocation.proceed();
-			count = System.nanoTime() - count;
-			if (count > threshold) {
-				log.warn("{}方法耗时{}毫秒,触发超时警告!", name, count / times);
+			long start = System.nanoTime();
+			try {
+				return invocation.proceed();
+			} finally {
+				//抛出异常的调用同样记录,避免慢失败被隐藏
+				long count = System.nanoTime() - start;
+				histogramCache.get(name).record(count);
+				if (count > threshold) {
+					log.warn("{}方法耗时{}毫秒,触发超时警告!", name, count / times);
+				}
 			}
-			return result;
 		};
 	}
 
@@ -101,7 +125,9 @@ public class DurationLogAdvisor implements PointcutAdvisor {
 						if (annotation.threshold() <= 0) {
 							throw new IllegalArgumentException("阈值必须大于0!");
 						}
-						thresholdCache.put(ReflectUtil.getFullMethodName(method), annotation.threshold() * times);
+						String name = ReflectUtil.getFullMethodName(method);
+						thresholdCache.put(name, annotation.threshold() * times);
+						histogramCache.putIfAbsent(name, new LatencyHistogram());
 						return true;
 					}
 
@@ -119,7 +145,9 @@ public class DurationLogAdvisor implements PointcutAdvisor {
 						if (annotation.threshold() <= 0) {
 							throw new IllegalArgumentException("阈值必须大于0!");
 						}
-						thresholdCache.put(ReflectUtil.getFullMethodName(method), annotation.threshold() * times);
+						String name = ReflectUtil.getFullMethodName(method);
+						thresholdCache.put(name, annotation.threshold() * times);
+						histogramCache.putIfAbsent(name, new LatencyHistogram());
 						return true;
 					}
 
@@ -1,12 +1,11 @@
 package frodez.config.aop.log;
 
-import frodez.config.aop.log.annotation.ResultLog;
-import frodez.util.json.JSONUtil;
+import frodez.config.aop.log.AsyncLogPipeline.Target;
+import frodez.config.aop.log.annotation.MethodLog;
 import frodez.util.reflect.ReflectUtil;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -14,6 +13,7 @@ import org.springframework.aop.ClassFilter;
 import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -27,6 +27,14 @@ import org.springframework.stereotype.Component;
 @Order(Integer.MIN_VALUE)
 public class MethodLogAdvisor implements PointcutAdvisor {
 
+	@Autowired
+	private AsyncLogPipeline pipeline;
+
+	/**
+	 * 注解配置缓存
+	 */
+	private Map<Method, Target> targetCache = new ConcurrentHashMap<>();
+
 	/**
 	 * AOP切点
 	 * @author Frodez
@@ -36,23 +44,21 @@ public class MethodLogAdvisor implements PointcutAdvisor {
 	public Advice getAdvice() {
 		return (MethodInterceptor) invocation -> {
 			Method method = invocation.getMethod();
-			String name = ReflectUtil.getFullMethodName(method);
+			Target logTarget = targetCache.get(method);
+			//参数和返回值使用同一次采样结果,保证成对出现
+			if (!logTarget.enabled() || !logTarget.sample()) {
+				return invocation.proceed();
+			}
 			if (method.getParameterCount() != 0) {
-				Parameter[] parameters = method.getParameters();
-				Object[] args = invocation.getArguments();
-				Map<String, Object> paramMap = new HashMap<>(parameters.length);
-				for (int i = 0; i < parameters.length; ++i) {
-					paramMap.put(parameters[i].getName(), args[i]);
-				}
-				log.info("{} 请求参数:{}", name, JSONUtil.string(paramMap));
+				pipeline.param(logTarget, invocation.getArguments());
 			} else {
-				log.info("{} 本方法无入参", name);
+				log.info("{} 本方法无入参", logTarget.getName());
 			}
 			Object result = invocation.proceed();
-			if (method.getReturnType() != Void.class) {
-				log.info("{} 返回值:{}", name, JSONUtil.string(result));
+			if (method.getReturnType() != void.class) {
+				pipeline.result(logTarget, result);
 			} else {
-				log.info("{} 本方法返回值类型为void", name);
+				log.info("{} 本方法返回值类型为void", logTarget.getName());
 			}
 			return result;
 		};
@@ -93,12 +99,15 @@ public class MethodLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass, Object... args) {
-						if (method.getAnnotation(ResultLog.class) == null) {
+						MethodLog annotation = method.getAnnotation(MethodLog.class);
+						if (annotation == null) {
 							return false;
 						}
-						if (method.getReturnType() == Void.class && method.getParameterCount() == 0) {
+						if (method.getReturnType() == void.class && method.getParameterCount() == 0) {
 							throw new IllegalArgumentException("不能对void返回类型且无参数的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
@@ -109,12 +118,15 @@ public class MethodLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass) {
-						if (method.getAnnotation(ResultLog.class) == null) {
+						MethodLog annotation = method.getAnnotation(MethodLog.class);
+						if (annotation == null) {
 							return false;
 						}
-						if (method.getReturnType() == Void.class && method.getParameterCount() == 0) {
+						if (method.getReturnType() == void.class && method.getParameterCount() == 0) {
 							throw new IllegalArgumentException("不能对void返回类型且无参数的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
@@ -1,12 +1,11 @@
 package frodez.config.aop.log;
 
+import frodez.config.aop.log.AsyncLogPipeline.Target;
 import frodez.config.aop.log.annotation.ParamLog;
-import frodez.util.json.JSONUtil;
 import frodez.util.reflect.ReflectUtil;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
 import org.springframework.aop.ClassFilter;
@@ -14,6 +13,7 @@ import org.springframework.aop.MethodBeforeAdvice;
 import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -27,6 +27,14 @@ import org.springframework.stereotype.Component;
 @Order(Integer.MIN_VALUE)
 public class ParamLogAdvisor implements PointcutAdvisor {
 
+	@Autowired
+	private AsyncLogPipeline pipeline;
+
+	/**
+	 * 注解配置缓存
+	 */
+	private Map<Method, Target> targetCache = new ConcurrentHashMap<>();
+
 	/**
 	 * AOP切点
 	 * @author Frodez
@@ -41,12 +49,10 @@ public class ParamLogAdvisor implements PointcutAdvisor {
 		 * @date 2019-01-12
 		 */
 		return (MethodBeforeAdvice) (method, args, target) -> {
-			Parameter[] parameters = method.getParameters();
-			Map<String, Object> paramMap = new HashMap<>(parameters.length);
-			for (int i = 0; i < parameters.length; ++i) {
-				paramMap.put(parameters[i].getName(), args[i]);
+			Target logTarget = targetCache.get(method);
+			if (logTarget.enabled() && logTarget.sample()) {
+				pipeline.param(logTarget, args);
 			}
-			log.info("{} 请求参数:{}", ReflectUtil.getFullMethodName(method), JSONUtil.string(paramMap));
 		};
 	}
 
@@ -85,12 +91,15 @@ public class ParamLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass, Object... args) {
-						if (method.getAnnotation(ParamLog.class) == null) {
+						ParamLog annotation = method.getAnnotation(ParamLog.class);
+						if (annotation == null) {
 							return false;
 						}
 						if (method.getParameterCount() == 0) {
 							throw new IllegalArgumentException("不能对无参数的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
@@ -101,12 +110,15 @@ public class ParamLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass) {
-						if (method.getAnnotation(ParamLog.class) == null) {
+						ParamLog annotation = method.getAnnotation(ParamLog.class);
+						if (annotation == null) {
 							return false;
 						}
 						if (method.getParameterCount() == 0) {
 							throw new IllegalArgumentException("不能对无参数的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
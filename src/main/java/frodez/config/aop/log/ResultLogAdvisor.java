@@ -1,9 +1,11 @@
 package frodez.config.aop.log;
 
+import frodez.config.aop.log.AsyncLogPipeline.Target;
 import frodez.config.aop.log.annotation.ResultLog;
-import frodez.util.json.JSONUtil;
 import frodez.util.reflect.ReflectUtil;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
 import org.springframework.aop.AfterReturningAdvice;
@@ -11,6 +13,7 @@ import org.springframework.aop.ClassFilter;
 import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -24,6 +27,14 @@ import org.springframework.stereotype.Component;
 @Order(Integer.MIN_VALUE)
 public class ResultLogAdvisor implements PointcutAdvisor {
 
+	@Autowired
+	private AsyncLogPipeline pipeline;
+
+	/**
+	 * 注解配置缓存
+	 */
+	private Map<Method, Target> targetCache = new ConcurrentHashMap<>();
+
 	/**
 	 * AOP切点
 	 * @author Frodez
@@ -37,8 +48,12 @@ public class ResultLogAdvisor implements PointcutAdvisor {
 		 * @author Frodez
 		 * @date 2019-01-12
 		 */
-		return (AfterReturningAdvice) (returnValue, method, args, target) -> log.info("{} 返回值:{}", ReflectUtil
-			.getFullMethodName(method), JSONUtil.string(returnValue));
+		return (AfterReturningAdvice) (returnValue, method, args, target) -> {
+			Target logTarget = targetCache.get(method);
+			if (logTarget.enabled() && logTarget.sample()) {
+				pipeline.result(logTarget, returnValue);
+			}
+		};
 	}
 
 	/**
@@ -76,12 +91,15 @@ public class ResultLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass, Object... args) {
-						if (method.getAnnotation(ResultLog.class) == null) {
+						ResultLog annotation = method.getAnnotation(ResultLog.class);
+						if (annotation == null) {
 							return false;
 						}
 						if (method.getReturnType() == Void.class) {
 							throw new IllegalArgumentException("不能对void返回类型的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
@@ -92,12 +110,15 @@ public class ResultLogAdvisor implements PointcutAdvisor {
 					 */
 					@Override
 					public boolean matches(Method method, Class<?> targetClass) {
-						if (method.getAnnotation(ResultLog.class) == null) {
+						ResultLog annotation = method.getAnnotation(ResultLog.class);
+						if (annotation == null) {
 							return false;
 						}
 						if (method.getReturnType() == Void.class) {
 							throw new IllegalArgumentException("不能对void返回类型的方法使用本注解!");
 						}
+						targetCache.put(method, new Target(log, ReflectUtil.getFullMethodName(method), method,
+							annotation.sampleRate(), annotation.maxLength()));
 						return true;
 					}
 
@@ -5,6 +5,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import javax.validation.constraints.Positive;
 
 /**
  * 方法日志注解
@@ -16,4 +17,19 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface MethodLog {
 
+	/**
+	 * 采样率,取值范围(0, 1],默认1即全部记录
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	double sampleRate() default 1;
+
+	/**
+	 * 参数日志和返回值日志各自的最大长度(字符数),超出部分截断,默认4096
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	@Positive
+	int maxLength() default 4096;
+
 }
@@ -2,7 +2,8 @@
  * 本包提供了日志功能相关注解。<br>
  * 这里所有的注解都需要写在具体方法实现上，不能写在接口或者抽象方法上。<br>
  * ParamLog提供了监测方法入参的日志功能。ResultLog提供了监测方法返回值的日志功能。<br>
- * MethodLog是ParamLog和ResultLog的综合。
+ * MethodLog是ParamLog和ResultLog的综合。<br>
+ * 三者均可通过sampleRate配置采样率，通过maxLength配置日志最大长度。
  * @author Frodez
  * @date 2019-03-11
  */
@@ -0,0 +1,171 @@
+package frodez.config.aop.log.latency;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 方法耗时直方图<br>
+ * 请求线程通过HdrHistogram的Recorder记录耗时,记录操作无锁且不分配对象。<br>
+ * 读取时按区间轮换:距上次轮换超过INTERVAL时取出区间直方图并计算分位数,否则返回上次的结果。<br>
+ * 区间直方图会被回收复用,同时累加到总直方图中。耗时以微秒为单位记录,精度为3位有效数字。<br>
+ * @author Frodez
+ * @date 2019-05-25
+ */
+public class LatencyHistogram {
+
+	/**
+	 * 轮换区间
+	 */
+	private static final long INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	/**
+	 * 有效数字位数
+	 */
+	private static final int DIGITS = 3;
+
+	private final Recorder recorder = new Recorder(DIGITS);
+
+	/**
+	 * 总直方图
+	 */
+	private final Histogram total = new Histogram(DIGITS);
+
+	/**
+	 * 区间直方图,轮换时回收复用
+	 */
+	private Histogram interval;
+
+	/**
+	 * 上次轮换时间
+	 */
+	private long lastRotate = System.nanoTime();
+
+	/**
+	 * 上次轮换的结果
+	 */
+	private Status last;
+
+	/**
+	 * 记录一次调用耗时
+	 * @param nanos 耗时,单位纳秒
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public void record(long nanos) {
+		recorder.recordValue(nanos < 0 ? 0 : nanos / 1000);
+	}
+
+	/**
+	 * 获取直方图状态
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	public synchronized Status status() {
+		long now = System.nanoTime();
+		long window = now - lastRotate;
+		if (last == null || window >= INTERVAL) {
+			interval = recorder.getIntervalHistogram(interval);
+			total.add(interval);
+			last = snapshot(interval, window);
+			lastRotate = now;
+		}
+		return last;
+	}
+
+	private Status snapshot(Histogram histogram, long window) {
+		Status status = new Status();
+		status.setWindow(TimeUnit.NANOSECONDS.toMillis(window));
+		status.setCount(histogram.getTotalCount());
+		status.setThroughput(window == 0 ? 0 : histogram.getTotalCount() * 1.0e9 / window);
+		status.setMean(histogram.getMean());
+		status.setP50(histogram.getValueAtPercentile(50));
+		status.setP90(histogram.getValueAtPercentile(90));
+		status.setP99(histogram.getValueAtPercentile(99));
+		status.setP999(histogram.getValueAtPercentile(99.9));
+		status.setMax(histogram.getMaxValue());
+		status.setTotalCount(total.getTotalCount());
+		status.setTotalP99(total.getValueAtPercentile(99));
+		status.setTotalMax(total.getMaxValue());
+		return status;
+	}
+
+	/**
+	 * 直方图状态,耗时单位均为微秒
+	 * @author Frodez
+	 * @date 2019-05-25
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 区间长度,单位毫秒
+		 */
+		private long window;
+
+		/**
+		 * 区间内调用数
+		 */
+		private long count;
+
+		/**
+		 * 区间内吞吐量,单位次/秒
+		 */
+		private double throughput;
+
+		/**
+		 * 区间内平均耗时
+		 */
+		private double mean;
+
+		/**
+		 * 区间内p50耗时
+		 */
+		private long p50;
+
+		/**
+		 * 区间内p90耗时
+		 */
+		private long p90;
+
+		/**
+		 * 区间内p99耗时
+		 */
+		private long p99;
+
+		/**
+		 * 区间内p999耗时
+		 */
+		private long p999;
+
+		/**
+		 * 区间内最大耗时
+		 */
+		private long max;
+
+		/**
+		 * 启动以来总调用数
+		 */
+		private long totalCount;
+
+		/**
+		 * 启动以来p99耗时
+		 */
+		private long totalP99;
+
+		/**
+		 * 启动以来最大耗时
+		 */
+		private long totalMax;
+
+	}
+
+}
@@ -0,0 +1,7 @@
+/**
+ * 本包提供耗时日志AOP使用的统计实现。<br>
+ * 1.LatencyHistogram基于HdrHistogram记录方法耗时分布，按区间轮换并计算分位数。<br>
+ * @author Frodez
+ * @date 2019-05-25
+ */
+package frodez.config.aop.log.latency;
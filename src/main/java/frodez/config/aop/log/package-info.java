@@ -1,5 +1,6 @@
 /**
- * 本包用于配置环绕日志。
+ * 本包用于配置环绕日志。<br>
+ * 参数和返回值日志通过AsyncLogPipeline异步输出，序列化在调用线程中进行，格式化和输出在独立线程中进行，支持按方法采样和长度截断。
  * @author Frodez
  * @date 2019-03-11
  */
@@ -0,0 +1,184 @@
+package frodez.config.aop.request;
+
+import frodez.config.aop.request.annotation.AdaptiveLimit;
+import frodez.config.aop.request.limit.AdaptiveLimiter;
+import frodez.util.beans.result.Result;
+import frodez.util.reflect.ReflectUtil;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 自适应并发限制AOP
+ * @author Frodez
+ * @date 2019-05-20
+ */
+@Component
+public class AdaptiveLimitAdvisor implements PointcutAdvisor {
+
+	/**
+	 * 限制器
+	 */
+	private Map<String, AdaptiveLimiter> limiterCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 获取所有方法的限制器状态
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	public Map<String, AdaptiveLimiter.Status> status() {
+		Map<String, AdaptiveLimiter.Status> result = new HashMap<>();
+		for (Map.Entry<String, AdaptiveLimiter> entry : limiterCache.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().status());
+		}
+		return result;
+	}
+
+	/**
+	 * AOP切点
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Override
+	public Advice getAdvice() {
+		/**
+		 * 自适应并发限制
+		 * @param JoinPoint AOP切点
+		 * @author Frodez
+		 * @date 2019-05-20
+		 */
+		return (MethodInterceptor) invocation -> {
+			AdaptiveLimiter limiter = limiterCache.get(ReflectUtil.getFullMethodName(invocation.getMethod()));
+			int inflight = limiter.tryAcquire();
+			if (inflight < 0) {
+				return Result.busy();
+			}
+			long start = System.nanoTime();
+			try {
+				return invocation.proceed();
+			} finally {
+				limiter.release(System.nanoTime() - start, inflight);
+			}
+		};
+	}
+
+	/**
+	 * 默认true
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Override
+	public boolean isPerInstance() {
+		return true;
+	}
+
+	/**
+	 * 切入点配置
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Override
+	public Pointcut getPointcut() {
+		return new Pointcut() {
+
+			/**
+			 * 根据方法判断
+			 * @author Frodez
+			 * @date 2019-05-20
+			 */
+			@Override
+			public MethodMatcher getMethodMatcher() {
+				return new MethodMatcher() {
+
+					/**
+					 * 对方法进行判断(运行时)
+					 * @author Frodez
+					 * @date 2019-05-20
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass, Object... args) {
+						//这里可以进行运行前检查
+						AdaptiveLimit annotation = method.getAnnotation(AdaptiveLimit.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.min() <= 0 || annotation.max() < annotation.min()) {
+							throw new IllegalArgumentException("并发上限的最小值必须大于0,且不能大于最大值!");
+						}
+						if (annotation.initial() < annotation.min() || annotation.initial() > annotation.max()) {
+							throw new IllegalArgumentException("初始并发上限必须介于最小值和最大值之间!");
+						}
+						if (annotation.tolerance() < 1) {
+							throw new IllegalArgumentException("容忍度必须大于等于1!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						limiterCache.put(ReflectUtil.getFullMethodName(method), new AdaptiveLimiter(annotation
+							.initial(), annotation.min(), annotation.max(), annotation.tolerance()));
+						return true;
+					}
+
+					/**
+					 * 对方法进行判断
+					 * @author Frodez
+					 * @date 2019-05-20
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass) {
+						//这里可以进行运行前检查
+						AdaptiveLimit annotation = method.getAnnotation(AdaptiveLimit.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.min() <= 0 || annotation.max() < annotation.min()) {
+							throw new IllegalArgumentException("并发上限的最小值必须大于0,且不能大于最大值!");
+						}
+						if (annotation.initial() < annotation.min() || annotation.initial() > annotation.max()) {
+							throw new IllegalArgumentException("初始并发上限必须介于最小值和最大值之间!");
+						}
+						if (annotation.tolerance() < 1) {
+							throw new IllegalArgumentException("容忍度必须大于等于1!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						limiterCache.put(ReflectUtil.getFullMethodName(method), new AdaptiveLimiter(annotation
+							.initial(), annotation.min(), annotation.max(), annotation.tolerance()));
+						return true;
+					}
+
+					/**
+					 * 默认true
+					 * @author Frodez
+					 * @date 2019-05-20
+					 */
+					@Override
+					public boolean isRuntime() {
+						return false;
+					}
+				};
+			}
+
+			/**
+			 * 根据类型判断
+			 * @author Frodez
+			 * @date 2019-05-20
+			 */
+			@Override
+			public ClassFilter getClassFilter() {
+				return clazz -> true;
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,263 @@
+package frodez.config.aop.request;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import frodez.config.aop.request.annotation.ETag;
+import frodez.config.aop.request.etag.Aggregate;
+import frodez.config.aop.request.etag.AggregateVersions;
+import frodez.config.security.util.UserUtil;
+import frodez.util.beans.result.Result;
+import frodez.util.constant.setting.DefCharset;
+import frodez.util.json.JSONUtil;
+import frodez.util.reflect.ReflectUtil;
+import frodez.util.spring.MVCUtil;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * 条件请求AOP<br>
+ * ETag为方法、所依赖聚合的版本号、当前用户(可选)和请求参数的128位murmur3哈希。<br>
+ * If-None-Match与ETag匹配时直接返回304,不会访问数据库,也不会序列化数据。<br>
+ * 版本号在方法执行前读取,执行期间发生的变更会使下次请求得到新的ETag,因此不会缓存过期数据。<br>
+ * 只有成功的结果才会携带ETag。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Component
+@Order(Integer.MIN_VALUE + 1)
+public class ETagAdvisor implements PointcutAdvisor {
+
+	private static final HashFunction HASH = Hashing.murmur3_128();
+
+	/**
+	 * 允许客户端缓存,但每次使用前必须验证
+	 */
+	private static final String CACHE_CONTROL = "private, no-cache";
+
+	@Autowired
+	private AggregateVersions versions;
+
+	private Map<Method, Target> targetCache = new ConcurrentHashMap<>();
+
+	/**
+	 * AOP切点
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public Advice getAdvice() {
+		/**
+		 * 条件请求
+		 * @param JoinPoint AOP切点
+		 * @author Frodez
+		 * @date 2019-05-27
+		 */
+		return (MethodInterceptor) invocation -> {
+			HttpServletRequest request = MVCUtil.request();
+			HttpMethod method = HttpMethod.resolve(request.getMethod());
+			if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+				return invocation.proceed();
+			}
+			String etag = etag(targetCache.get(invocation.getMethod()), invocation.getArguments());
+			HttpServletResponse response = MVCUtil.response();
+			if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+				response.setHeader(HttpHeaders.ETAG, etag);
+				response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+				response.setStatus(HttpStatus.NOT_MODIFIED.value());
+				return null;
+			}
+			Object result = invocation.proceed();
+			//结果已由其他切面直接写入响应时返回值为空
+			if (result != null && !((Result) result).unable()) {
+				response.setHeader(HttpHeaders.ETAG, etag);
+				response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+			}
+			return result;
+		};
+	}
+
+	private String etag(Target target, Object[] args) {
+		Hasher hasher = HASH.newHasher().putLong(versions.epoch()).putLong(target.methodId);
+		for (Aggregate aggregate : target.aggregates) {
+			hasher.putLong(versions.get(aggregate));
+		}
+		if (target.user) {
+			hasher.putLong(UserUtil.get().getId());
+		}
+		for (Object arg : args) {
+			if (arg == null) {
+				hasher.putByte((byte) 0);
+			} else {
+				String json = JSONUtil.string(arg);
+				hasher.putByte((byte) 1).putInt(json.length()).putUnencodedChars(json);
+			}
+		}
+		return "\"".concat(hasher.hash().toString()).concat("\"");
+	}
+
+	/**
+	 * If-None-Match使用弱比较,忽略W/前缀
+	 */
+	private boolean matches(String header, String etag) {
+		if (header == null) {
+			return false;
+		}
+		for (String item : header.split(",")) {
+			item = item.trim();
+			if (item.equals("*")) {
+				return true;
+			}
+			if (item.startsWith("W/")) {
+				item = item.substring(2);
+			}
+			if (item.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 默认true
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public boolean isPerInstance() {
+		return true;
+	}
+
+	/**
+	 * 切入点配置
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public Pointcut getPointcut() {
+		return new Pointcut() {
+
+			/**
+			 * 根据方法判断
+			 * @author Frodez
+			 * @date 2019-05-27
+			 */
+			@Override
+			public MethodMatcher getMethodMatcher() {
+				return new MethodMatcher() {
+
+					/**
+					 * 对方法进行判断(运行时)
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass, Object... args) {
+						//这里可以进行运行前检查
+						ETag annotation = method.getAnnotation(ETag.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.value().length == 0) {
+							throw new IllegalArgumentException("至少需要依赖一个聚合!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						targetCache.put(method, new Target(method, annotation));
+						return true;
+					}
+
+					/**
+					 * 对方法进行判断
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass) {
+						//这里可以进行运行前检查
+						ETag annotation = method.getAnnotation(ETag.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.value().length == 0) {
+							throw new IllegalArgumentException("至少需要依赖一个聚合!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						targetCache.put(method, new Target(method, annotation));
+						return true;
+					}
+
+					/**
+					 * 默认true
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean isRuntime() {
+						return false;
+					}
+				};
+			}
+
+			/**
+			 * 根据类型判断
+			 * @author Frodez
+			 * @date 2019-05-27
+			 */
+			@Override
+			public ClassFilter getClassFilter() {
+				return clazz -> true;
+			}
+
+		};
+	}
+
+	/**
+	 * ETag计算目标
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	private static class Target {
+
+		/**
+		 * 方法id
+		 */
+		private final long methodId;
+
+		/**
+		 * 依赖的聚合
+		 */
+		private final Aggregate[] aggregates;
+
+		/**
+		 * 是否与当前用户相关
+		 */
+		private final boolean user;
+
+		Target(Method method, ETag annotation) {
+			this.methodId = HASH.hashString(ReflectUtil.getFullMethodName(method), DefCharset.UTF_8_CHARSET).asLong();
+			this.aggregates = annotation.value();
+			this.user = annotation.user();
+		}
+
+	}
+
+}
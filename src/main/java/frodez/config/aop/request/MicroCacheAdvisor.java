@@ -0,0 +1,355 @@
+package frodez.config.aop.request;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import frodez.config.aop.request.annotation.MicroCache;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.security.util.UserUtil;
+import frodez.dao.result.user.PermissionInfo;
+import frodez.dao.result.user.UserInfo;
+import frodez.util.beans.result.Result;
+import frodez.util.beans.result.ResultWriter;
+import frodez.util.http.URLMatcher;
+import frodez.util.json.JSONUtil;
+import frodez.util.reflect.ReflectUtil;
+import frodez.util.spring.MVCUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应短时缓存AOP<br>
+ * 每个方法拥有独立的缓存,key为请求参数(即规范化后的查询条件)和调用者的角色权限指纹的128位murmur3哈希。<br>
+ * 缓存的是已序列化的json字节,命中时直接写入响应,不再执行方法和序列化。<br>
+ * 同时到达的相同请求未命中时,只有一个请求执行方法,其他请求等待并共享其结果。<br>
+ * 失败的结果不会被缓存,只返回给本次同时到达的请求。请求不接受json(如smile)时不使用缓存。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Component
+@Order(Integer.MIN_VALUE + 2)
+public class MicroCacheAdvisor implements PointcutAdvisor {
+
+	private static final HashFunction HASH = Hashing.murmur3_128();
+
+	/**
+	 * 缓存
+	 */
+	private Map<Method, Cache<RequestKey, byte[]>> cacheMap = new ConcurrentHashMap<>();
+
+	/**
+	 * 获取所有方法的缓存状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public Map<String, Status> status() {
+		Map<String, Status> result = new HashMap<>();
+		for (Map.Entry<Method, Cache<RequestKey, byte[]>> entry : cacheMap.entrySet()) {
+			CacheStats stats = entry.getValue().stats();
+			result.put(ReflectUtil.getFullMethodName(entry.getKey()), new Status(entry.getValue().size(), stats
+				.hitCount(), stats.missCount(), stats.loadSuccessCount(), stats.loadExceptionCount(), stats
+					.evictionCount()));
+		}
+		return result;
+	}
+
+	/**
+	 * AOP切点
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public Advice getAdvice() {
+		/**
+		 * 响应短时缓存
+		 * @param JoinPoint AOP切点
+		 * @author Frodez
+		 * @date 2019-05-27
+		 */
+		return (MethodInterceptor) invocation -> {
+			HttpServletRequest request = MVCUtil.request();
+			HttpMethod method = HttpMethod.resolve(request.getMethod());
+			if (method != HttpMethod.GET && method != HttpMethod.HEAD || !acceptJson(request)) {
+				return invocation.proceed();
+			}
+			byte[] bytes;
+			try {
+				bytes = cacheMap.get(invocation.getMethod()).get(key(request, invocation.getArguments()), () -> load(
+					invocation));
+			} catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+				if (e.getCause() instanceof Uncached) {
+					return ((Uncached) e.getCause()).result;
+				}
+				throw e.getCause();
+			}
+			HttpServletResponse response = MVCUtil.response();
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+			response.getOutputStream().write(bytes);
+			return null;
+		};
+	}
+
+	/**
+	 * 执行方法并序列化成功的结果,失败的结果通过Uncached抛出,不会被缓存
+	 */
+	private byte[] load(MethodInvocation invocation) throws Exception {
+		Object result;
+		try {
+			result = invocation.proceed();
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new UndeclaredThrowableException(e);
+		}
+		if (result == null || ((Result) result).unable()) {
+			throw new Uncached((Result) result);
+		}
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ResultWriter.write((Result) result, stream);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * key为请求参数和调用者角色权限指纹的哈希
+	 */
+	private RequestKey key(HttpServletRequest request, Object[] args) {
+		Hasher hasher = HASH.newHasher();
+		if (URLMatcher.needVerify(request.getRequestURI())) {
+			UserInfo user = UserUtil.get();
+			hasher.putByte((byte) 1).putLong(user.getRoleId());
+			if (user.getPermissionList() != null) {
+				for (PermissionInfo permission : user.getPermissionList()) {
+					hasher.putLong(permission.getId());
+				}
+			}
+		} else {
+			hasher.putByte((byte) 0);
+		}
+		for (Object arg : args) {
+			if (arg == null) {
+				hasher.putByte((byte) 0);
+			} else {
+				String json = JSONUtil.string(arg);
+				hasher.putByte((byte) 1).putInt(json.length()).putUnencodedChars(json);
+			}
+		}
+		return RequestKey.of(hasher.hash().asBytes());
+	}
+
+	private boolean acceptJson(HttpServletRequest request) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept == null) {
+			return true;
+		}
+		try {
+			for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+				if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+					return true;
+				}
+			}
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+		return false;
+	}
+
+	/**
+	 * 默认true
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public boolean isPerInstance() {
+		return true;
+	}
+
+	/**
+	 * 切入点配置
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Override
+	public Pointcut getPointcut() {
+		return new Pointcut() {
+
+			/**
+			 * 根据方法判断
+			 * @author Frodez
+			 * @date 2019-05-27
+			 */
+			@Override
+			public MethodMatcher getMethodMatcher() {
+				return new MethodMatcher() {
+
+					/**
+					 * 对方法进行判断(运行时)
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass, Object... args) {
+						//这里可以进行运行前检查
+						MicroCache annotation = method.getAnnotation(MicroCache.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.ttl() <= 0) {
+							throw new IllegalArgumentException("缓存时间必须大于0!");
+						}
+						if (annotation.maxSize() <= 0) {
+							throw new IllegalArgumentException("最大缓存数量必须大于0!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						cacheMap.computeIfAbsent(method, (i) -> CacheBuilder.newBuilder().expireAfterWrite(annotation
+							.ttl(), TimeUnit.MILLISECONDS).maximumSize(annotation.maxSize()).recordStats().build());
+						return true;
+					}
+
+					/**
+					 * 对方法进行判断
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean matches(Method method, Class<?> targetClass) {
+						//这里可以进行运行前检查
+						MicroCache annotation = method.getAnnotation(MicroCache.class);
+						if (annotation == null) {
+							return false;
+						}
+						if (annotation.ttl() <= 0) {
+							throw new IllegalArgumentException("缓存时间必须大于0!");
+						}
+						if (annotation.maxSize() <= 0) {
+							throw new IllegalArgumentException("最大缓存数量必须大于0!");
+						}
+						if (method.getReturnType() != Result.class) {
+							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
+						}
+						cacheMap.computeIfAbsent(method, (i) -> CacheBuilder.newBuilder().expireAfterWrite(annotation
+							.ttl(), TimeUnit.MILLISECONDS).maximumSize(annotation.maxSize()).recordStats().build());
+						return true;
+					}
+
+					/**
+					 * 默认true
+					 * @author Frodez
+					 * @date 2019-05-27
+					 */
+					@Override
+					public boolean isRuntime() {
+						return false;
+					}
+				};
+			}
+
+			/**
+			 * 根据类型判断
+			 * @author Frodez
+			 * @date 2019-05-27
+			 */
+			@Override
+			public ClassFilter getClassFilter() {
+				return clazz -> true;
+			}
+
+		};
+	}
+
+	/**
+	 * 不缓存的结果,由执行方法的请求传递给同时等待的请求
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	private static class Uncached extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Result result;
+
+		Uncached(Result result) {
+			super(null, null, false, false);
+			this.result = result;
+		}
+
+	}
+
+	/**
+	 * 缓存状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 缓存数量
+		 */
+		private long size;
+
+		/**
+		 * 命中次数
+		 */
+		private long hit;
+
+		/**
+		 * 未命中次数
+		 */
+		private long miss;
+
+		/**
+		 * 缓存的结果数
+		 */
+		private long load;
+
+		/**
+		 * 未缓存的结果数(失败或异常)
+		 */
+		private long uncached;
+
+		/**
+		 * 过期或淘汰数
+		 */
+		private long eviction;
+
+	}
+
+}
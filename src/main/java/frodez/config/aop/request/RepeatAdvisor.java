@@ -2,10 +2,10 @@ package frodez.config.aop.request;
 
 import frodez.config.aop.request.annotation.RepeatLock;
 import frodez.config.aop.request.checker.facade.ManualChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
 import frodez.config.aop.request.checker.impl.KeyGenerator;
 import frodez.util.beans.result.Result;
 import frodez.util.http.ServletUtil;
-import frodez.util.reflect.ReflectUtil;
 import frodez.util.spring.MVCUtil;
 import java.lang.reflect.Method;
 import javax.servlet.http.HttpServletRequest;
@@ -24,10 +24,10 @@ import org.springframework.stereotype.Component;
  * 控制重复请求AOP切面<br>
  * <strong>原理:</strong><br>
  * 在请求处理方法前后设点.<br>
- * 进入请求处理方法前,根据规则获得key,然后查询是否存在对应value.<br>
- * 如果存在对应value,说明出现重复请求,抛出NoRepeatException异常.<br>
- * 如果不存在对应value,说明没有重复请求,继续执行.<br>
- * 请求处理方法结束后,根据规则获得key,然后删除对应key.<br>
+ * 进入请求处理方法前,根据规则获得key,然后尝试原子地加锁.<br>
+ * 如果加锁失败,说明出现重复请求,直接返回.<br>
+ * 如果加锁成功,说明没有重复请求,继续执行.<br>
+ * 请求处理方法结束后,删除对应key.只有加锁成功的请求才会解锁,重复请求不会释放其他请求持有的锁.<br>
  * @author Frodez
  * @date 2018-12-21
  */
@@ -39,7 +39,7 @@ public class RepeatAdvisor implements PointcutAdvisor {
 	 * 阻塞型重复请求检查
 	 */
 	@Autowired
-	@Qualifier("repeatGuavaChecker")
+	@Qualifier("repeatStripedChecker")
 	private ManualChecker checker;
 
 	/**
@@ -58,13 +58,12 @@ public class RepeatAdvisor implements PointcutAdvisor {
 		 */
 		return (MethodInterceptor) invocation -> {
 			HttpServletRequest request = MVCUtil.request();
-			String key = KeyGenerator.servletKey(ReflectUtil.getFullMethodName(invocation.getMethod()), request);
+			RequestKey key = KeyGenerator.servletKey(invocation.getMethod(), request);
+			if (!checker.tryLock(key)) {
+				log.info("重复请求:IP地址{}", ServletUtil.getAddr(request));
+				return Result.errorRequest();
+			}
 			try {
-				if (checker.check(key)) {
-					log.info("重复请求:IP地址{}", ServletUtil.getAddr(request));
-					return Result.errorRequest();
-				}
-				checker.lock(key);
 				return invocation.proceed();
 			} finally {
 				checker.free(key);
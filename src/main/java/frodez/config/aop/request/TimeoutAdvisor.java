@@ -2,6 +2,7 @@ package frodez.config.aop.request;
 
 import frodez.config.aop.request.annotation.TimeoutLock;
 import frodez.config.aop.request.checker.facade.AutoChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
 import frodez.config.aop.request.checker.impl.KeyGenerator;
 import frodez.util.beans.result.Result;
 import frodez.util.http.ServletUtil;
@@ -26,10 +27,10 @@ import org.springframework.stereotype.Component;
  * 控制重复请求AOP切面<br>
  * <strong>原理:</strong><br>
  * 在请求处理方法前后设点.<br>
- * 进入请求处理方法前,根据规则获得key,然后查询是否存在对应value.<br>
- * 如果存在对应value,说明出现重复请求,抛出NoRepeatException异常.<br>
- * 如果不存在对应value,说明没有重复请求,继续执行.<br>
- * 请求处理方法结束后,根据规则获得key,然后删除对应key.<br>
+ * 进入请求处理方法前,根据规则获得key,然后尝试原子地加锁.<br>
+ * 如果加锁失败,说明出现重复请求,直接返回.<br>
+ * 如果加锁成功,说明没有重复请求,继续执行.<br>
+ * 锁在超时时间后自动失效.<br>
  * @author Frodez
  * @date 2018-12-21
  */
@@ -41,7 +42,7 @@ public class TimeoutAdvisor implements PointcutAdvisor {
 	 * 自动超时型重复请求检查
 	 */
 	@Autowired
-	@Qualifier("timeoutGuavaChecker")
+	@Qualifier("timeoutWheelChecker")
 	private AutoChecker checker;
 
 	/**
@@ -65,12 +66,11 @@ public class TimeoutAdvisor implements PointcutAdvisor {
 		return (MethodInterceptor) invocation -> {
 			HttpServletRequest request = MVCUtil.request();
 			String name = ReflectUtil.getFullMethodName(invocation.getMethod());
-			String key = KeyGenerator.servletKey(name, request);
-			if (checker.check(key)) {
+			RequestKey key = KeyGenerator.servletKey(invocation.getMethod(), request);
+			if (!checker.tryLock(key, timeoutCache.get(name))) {
 				log.info("重复请求:IP地址{}", ServletUtil.getAddr(request));
 				return Result.errorRequest();
 			}
-			checker.lock(key, timeoutCache.get(name));
 			return invocation.proceed();
 		};
 	}
@@ -0,0 +1,54 @@
+package frodez.config.aop.request.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.validation.constraints.Positive;
+
+/**
+ * 自适应并发限制注解<br>
+ * 与Limit注解的固定速率不同,本注解根据实际观察到的响应时间动态调整并发上限。<br>
+ * 响应时间相对长期基线上升时收缩上限,恢复时逐步放开,超出上限的请求直接返回服务器繁忙。<br>
+ * @author Frodez
+ * @date 2019-05-20
+ */
+@Documented
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdaptiveLimit {
+
+	/**
+	 * 初始并发上限,默认值20 <strong>必须介于最小值和最大值之间,否则会在启动时抛出异常。</strong>
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Positive
+	int initial() default 20;
+
+	/**
+	 * 最小并发上限,默认值1
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Positive
+	int min() default 1;
+
+	/**
+	 * 最大并发上限,默认值200
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Positive
+	int max() default 200;
+
+	/**
+	 * 容忍度,即短期响应时间超过长期基线多少倍时才开始收缩上限,必须大于等于1,默认值1.5
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Positive
+	double tolerance() default 1.5;
+
+}
@@ -0,0 +1,36 @@
+package frodez.config.aop.request.annotation;
+
+import frodez.config.aop.request.etag.Aggregate;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 条件请求注解<br>
+ * 根据所依赖聚合的版本号和请求参数计算强ETag,请求头If-None-Match与之匹配时直接返回304,不再执行方法。<br>
+ * 只能用于GET请求,返回值类型必须为Result。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Documented
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ETag {
+
+	/**
+	 * 返回数据依赖的聚合
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	Aggregate[] value();
+
+	/**
+	 * 返回数据是否与当前用户相关,为true时当前用户id参与ETag计算,默认值false
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	boolean user() default false;
+
+}
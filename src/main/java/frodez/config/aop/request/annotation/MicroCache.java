@@ -0,0 +1,35 @@
+package frodez.config.aop.request.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 响应短时缓存注解<br>
+ * 在很短的时间内缓存已序列化的json响应,相同的请求直接返回缓存的字节,同时到达的相同请求只执行一次方法。<br>
+ * 只能用于GET请求,返回值类型必须为Result,只缓存成功的结果。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Documented
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MicroCache {
+
+	/**
+	 * 缓存时间,必须大于0,默认值1000毫秒
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	long ttl() default 1000;
+
+	/**
+	 * 最大缓存数量,必须大于0,默认值1024
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	int maxSize() default 1024;
+
+}
@@ -14,6 +14,15 @@ public interface AutoChecker extends Checker {
 	 * @author Frodez
 	 * @date 2019-01-21
 	 */
-	void lock(String key, long timeout);
+	void lock(RequestKey key, long timeout);
+
+	/**
+	 * 尝试加锁,检查与加锁为原子操作。加锁成功返回true,已被锁定返回false
+	 * @param key 对应key
+	 * @param timeout 超时时间
+	 * @author Frodez
+	 * @date 2019-05-23
+	 */
+	boolean tryLock(RequestKey key, long timeout);
 
 }
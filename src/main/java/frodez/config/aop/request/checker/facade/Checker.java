@@ -8,6 +8,6 @@ public interface Checker {
 	 * @author Frodez
 	 * @date 2019-01-21
 	 */
-	boolean check(String key);
+	boolean check(RequestKey key);
 
 }
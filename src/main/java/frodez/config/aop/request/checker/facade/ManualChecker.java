@@ -13,7 +13,15 @@ public interface ManualChecker extends Checker {
 	 * @author Frodez
 	 * @date 2019-01-21
 	 */
-	void lock(String key);
+	void lock(RequestKey key);
+
+	/**
+	 * 尝试加锁,检查与加锁为原子操作。加锁成功返回true,已被锁定返回false
+	 * @param key 对应key
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	boolean tryLock(RequestKey key);
 
 	/**
 	 * 解锁
@@ -21,6 +29,6 @@ public interface ManualChecker extends Checker {
 	 * @author Frodez
 	 * @date 2019-01-21
 	 */
-	void free(String key);
+	void free(RequestKey key);
 
 }
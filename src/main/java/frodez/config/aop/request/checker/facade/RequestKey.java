@@ -0,0 +1,77 @@
+package frodez.config.aop.request.checker.facade;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 重复请求检查key<br>
+ * 固定为128位,由两个long组成,可直接存放于基本类型数组中,发送给redis时编码为16字节。<br>
+ * @author Frodez
+ * @date 2019-05-24
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class RequestKey implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 高64位
+	 */
+	private final long high;
+
+	/**
+	 * 低64位
+	 */
+	private final long low;
+
+	/**
+	 * 由16字节(大端序)创建key
+	 * @author Frodez
+	 * @date 2019-05-24
+	 */
+	public static RequestKey of(byte[] bytes) {
+		if (bytes.length != 16) {
+			throw new IllegalArgumentException("key的长度必须为16字节!");
+		}
+		return new RequestKey(toLong(bytes, 0), toLong(bytes, 8));
+	}
+
+	/**
+	 * 编码为字节数组,格式为前缀+16字节(大端序)
+	 * @param prefix 前缀
+	 * @author Frodez
+	 * @date 2019-05-24
+	 */
+	public byte[] bytes(byte[] prefix) {
+		byte[] bytes = new byte[prefix.length + 16];
+		System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+		fromLong(high, bytes, prefix.length);
+		fromLong(low, bytes, prefix.length + 8);
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", high, low);
+	}
+
+	private static long toLong(byte[] bytes, int offset) {
+		long value = 0;
+		for (int i = offset; i < offset + 8; i++) {
+			value = (value << 8) | (bytes[i] & 0xFF);
+		}
+		return value;
+	}
+
+	private static void fromLong(long value, byte[] bytes, int offset) {
+		for (int i = offset + 7; i >= offset; i--) {
+			bytes[i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
+}
@@ -3,6 +3,7 @@ package frodez.config.aop.request.checker.impl;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import frodez.config.aop.request.checker.facade.AutoChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
 import frodez.config.cache.CacheProperties;
 import frodez.util.constant.setting.DefTime;
 import frodez.util.spring.ContextUtil;
@@ -20,7 +21,7 @@ import org.springframework.util.Assert;
 @DependsOn("contextUtil")
 public class AutoGuavaChecker implements AutoChecker {
 
-	private Cache<String, Long> cache;
+	private Cache<RequestKey, Long> cache;
 
 	@PostConstruct
 	private void init() {
@@ -30,7 +31,7 @@ public class AutoGuavaChecker implements AutoChecker {
 	}
 
 	@Override
-	public boolean check(String key) {
+	public boolean check(RequestKey key) {
 		Long timestamp = cache.getIfPresent(key);
 		long now = System.currentTimeMillis();
 		if (timestamp == null) {
@@ -44,8 +45,18 @@ public class AutoGuavaChecker implements AutoChecker {
 	}
 
 	@Override
-	public void lock(String key, long timeout) {
+	public void lock(RequestKey key, long timeout) {
 		cache.put(key, timeout + System.currentTimeMillis());
 	}
 
+	@Override
+	public boolean tryLock(RequestKey key, long timeout) {
+		long now = System.currentTimeMillis();
+		Long timestamp = cache.asMap().putIfAbsent(key, timeout + now);
+		if (timestamp == null) {
+			return true;
+		}
+		return timestamp < now && cache.asMap().replace(key, timestamp, timeout + now);
+	}
+
 }
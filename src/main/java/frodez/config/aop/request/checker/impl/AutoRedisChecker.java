@@ -1,12 +1,17 @@
 package frodez.config.aop.request.checker.impl;
 
 import frodez.config.aop.request.checker.facade.AutoChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.redis.RedisCircuitBreaker;
 import frodez.service.cache.base.BaseRedisCache;
+import frodez.util.constant.setting.DefCharset;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /**
- * 自动超时型重复请求检查REDIS实现
+ * 自动超时型重复请求检查REDIS实现<br>
+ * redis调用经过RedisCircuitBreaker,熔断或调用失败时降级到guava实现。
  * @author Frodez
  * @date 2019-01-21
  */
@@ -19,17 +24,52 @@ public class AutoRedisChecker implements AutoChecker {
 	@Autowired
 	private BaseRedisCache redisService;
 
+	/**
+	 * redis熔断器
+	 */
+	@Autowired
+	private RedisCircuitBreaker breaker;
+
+	/**
+	 * 降级使用的本地实现
+	 */
+	@Autowired
+	@Qualifier("timeoutGuavaChecker")
+	private AutoChecker fallback;
+
+	/**
+	 * key前缀
+	 */
+	private static final byte[] PREFIX = "timeout:".getBytes(DefCharset.UTF_8_CHARSET);
+
+	/**
+	 * 占位值
+	 */
+	private static final byte[] VALUE = new byte[] { 1 };
+
+	@Override
+	public boolean check(RequestKey key) {
+		return breaker.execute(() -> redisService.existsRawAsync(key.bytes(PREFIX)), () -> fallback.check(key));
+	}
+
 	@Override
-	public boolean check(String key) {
-		return redisService.exists(key);
+	public void lock(RequestKey key, long timeout) {
+		if (timeout <= 0) {
+			throw new RuntimeException("超时时间必须大于0!");
+		}
+		breaker.execute(() -> redisService.setRawAsync(key.bytes(PREFIX), VALUE, timeout), () -> {
+			fallback.lock(key, timeout);
+			return null;
+		});
 	}
 
 	@Override
-	public void lock(String key, long timeout) {
+	public boolean tryLock(RequestKey key, long timeout) {
 		if (timeout <= 0) {
 			throw new RuntimeException("超时时间必须大于0!");
 		}
-		redisService.set(key, true, timeout);
+		return breaker.execute(() -> redisService.setIfAbsentRawAsync(key.bytes(PREFIX), VALUE, timeout),
+			() -> fallback.tryLock(key, timeout));
 	}
 
 }
@@ -0,0 +1,215 @@
+package frodez.config.aop.request.checker.impl;
+
+import frodez.config.aop.request.checker.facade.AutoChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.cache.CacheProperties;
+import frodez.config.cache.CacheProperties.AutoWheelCheckerProperties;
+import frodez.util.constant.setting.DefTime;
+import frodez.util.spring.ContextUtil;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * 自动超时型重复请求检查时间轮实现<br>
+ * key及其过期时间存放在分段开放寻址表中,检查和加锁均为O(1)操作,且读路径上没有任何写操作。<br>
+ * 过期记录的清除由哈希时间轮批量完成:加锁时将key放入过期时间对应的槽,<br>
+ * 后台线程每个刻度处理一个槽,删除其中已过期的key;超过时间轮一圈的key则留在槽中等待下一圈。<br>
+ * @author Frodez
+ * @date 2019-05-23
+ */
+@Slf4j
+@Component("timeoutWheelChecker")
+@DependsOn("contextUtil")
+public class AutoWheelChecker implements AutoChecker {
+
+	private ExpiringKeyTable table;
+
+	/**
+	 * 时间轮的槽
+	 */
+	private Bucket[] buckets;
+
+	/**
+	 * 槽掩码
+	 */
+	private int mask;
+
+	/**
+	 * 刻度,单位纳秒
+	 */
+	private long tick;
+
+	/**
+	 * 时间轮起点
+	 */
+	private long origin;
+
+	/**
+	 * 已处理的最后一个刻度
+	 */
+	private long processedTick;
+
+	private ScheduledExecutorService executor;
+
+	@PostConstruct
+	private void init() {
+		AutoWheelCheckerProperties properties = ContextUtil.get(CacheProperties.class).getAutoWheelChecker();
+		table = new ExpiringKeyTable(properties.getConcurrency(), properties.getInitialCapacity());
+		int size = Integer.highestOneBit(Math.max(properties.getWheelSize() - 1, 1)) << 1;
+		buckets = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			buckets[i] = new Bucket();
+		}
+		mask = size - 1;
+		tick = DefTime.UNIT.toNanos(properties.getTick());
+		origin = System.nanoTime();
+		processedTick = 0;
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "timeout-wheel-checker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleAtFixedRate(this::advance, tick, tick, TimeUnit.NANOSECONDS);
+		Assert.notNull(table, "table must not be null");
+	}
+
+	@PreDestroy
+	private void destroy() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public boolean check(RequestKey key) {
+		return table.contains(key.getHigh(), key.getLow(), System.nanoTime());
+	}
+
+	@Override
+	public void lock(RequestKey key, long timeout) {
+		if (timeout <= 0) {
+			throw new RuntimeException("超时时间必须大于0!");
+		}
+		long now = System.nanoTime();
+		long deadline = now + DefTime.UNIT.toNanos(timeout);
+		table.put(key.getHigh(), key.getLow(), deadline, now);
+		schedule(key.getHigh(), key.getLow(), deadline);
+	}
+
+	@Override
+	public boolean tryLock(RequestKey key, long timeout) {
+		if (timeout <= 0) {
+			throw new RuntimeException("超时时间必须大于0!");
+		}
+		long now = System.nanoTime();
+		long deadline = now + DefTime.UNIT.toNanos(timeout);
+		if (!table.putIfAbsent(key.getHigh(), key.getLow(), deadline, now)) {
+			return false;
+		}
+		schedule(key.getHigh(), key.getLow(), deadline);
+		return true;
+	}
+
+	/**
+	 * 当前记录数(包括尚未清除的过期记录)
+	 * @author Frodez
+	 * @date 2019-05-23
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	private long tickOf(long time) {
+		return (time - origin) / tick;
+	}
+
+	private void schedule(long high, long low, long deadline) {
+		//放在过期时间所在刻度的下一个刻度,保证处理该槽时key已经过期
+		buckets[(int) ((tickOf(deadline) + 1) & mask)].add(high, low);
+	}
+
+	/**
+	 * 推进时间轮,处理所有到期的槽
+	 * @author Frodez
+	 * @date 2019-05-23
+	 */
+	private void advance() {
+		try {
+			long now = System.nanoTime();
+			long current = tickOf(now);
+			//落后超过一圈时,每个槽只需处理一次
+			long from = Math.max(processedTick + 1, current - mask);
+			for (long i = from; i <= current; i++) {
+				expire((int) (i & mask), now);
+			}
+			processedTick = current;
+		} catch (Exception e) {
+			log.error("[advance]", e);
+		}
+	}
+
+	private void expire(int index, long now) {
+		Bucket bucket = buckets[index];
+		long[] keys = bucket.drain();
+		int length = bucket.drained;
+		for (int i = 0; i < length; i += 2) {
+			long high = keys[i];
+			long low = keys[i + 1];
+			if (table.removeIfExpired(high, low, now)) {
+				continue;
+			}
+			long deadline = table.deadline(high, low);
+			//仍属于本槽的key说明过期时间超过了一圈,留到下一圈;否则key已被删除或重新加锁,由其他槽负责
+			if (deadline != 0 && ((tickOf(deadline) + 1) & mask) == index) {
+				bucket.add(high, low);
+			}
+		}
+	}
+
+	/**
+	 * 时间轮的槽<br>
+	 * key的高低64位交替存放在同一个long数组中。<br>
+	 * @author Frodez
+	 * @date 2019-05-23
+	 */
+	private static final class Bucket {
+
+		private static final long[] EMPTY = new long[0];
+
+		private long[] keys = EMPTY;
+
+		private int size;
+
+		/**
+		 * 最近一次drain取出的有效长度,仅由时间轮线程访问
+		 */
+		int drained;
+
+		synchronized void add(long high, long low) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, Math.max(16, size << 1));
+			}
+			keys[size++] = high;
+			keys[size++] = low;
+		}
+
+		/**
+		 * 取出槽中所有key,有效长度见drained
+		 */
+		synchronized long[] drain() {
+			long[] result = keys;
+			drained = size;
+			keys = EMPTY;
+			size = 0;
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,304 @@
+package frodez.config.aop.request.checker.impl;
+
+/**
+ * 带过期时间的分段开放寻址表<br>
+ * 每个key只对应一个过期时间,key的高低64位和过期时间分别存放在基本类型数组中,不持有任何key对象,也不为每个key创建额外的节点对象。<br>
+ * 表被分为若干段,每段独立加锁,段内使用线性探测,删除时使用后移删除,不产生墓碑。<br>
+ * 过期时间为System.nanoTime()时间戳,已过期的key视为不存在,在被覆盖或扩容时清除。<br>
+ * @author Frodez
+ * @date 2019-05-22
+ */
+final class ExpiringKeyTable {
+
+	/**
+	 * 段
+	 */
+	private final Stripe[] stripes;
+
+	/**
+	 * 段掩码
+	 */
+	private final int mask;
+
+	/**
+	 * @param concurrency 段数,会被调整为2的幂
+	 * @param initialCapacity 每段初始容量,会被调整为2的幂
+	 */
+	ExpiringKeyTable(int concurrency, int initialCapacity) {
+		int size = powerOfTwo(concurrency);
+		int capacity = powerOfTwo(Math.max(initialCapacity, 4));
+		stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			stripes[i] = new Stripe(capacity);
+		}
+		mask = size - 1;
+	}
+
+	/**
+	 * 若key不存在或已过期,则写入并返回true;否则返回false
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @param deadline 过期时间
+	 * @param now 当前时间
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	boolean putIfAbsent(long high, long low, long deadline, long now) {
+		int hash = hash(high);
+		return stripe(hash).putIfAbsent(high, low, hash, deadline, now);
+	}
+
+	/**
+	 * 写入key,已存在时覆盖过期时间
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @param deadline 过期时间
+	 * @param now 当前时间
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	void put(long high, long low, long deadline, long now) {
+		int hash = hash(high);
+		stripe(hash).put(high, low, hash, deadline, now);
+	}
+
+	/**
+	 * 判断key是否存在且未过期
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @param now 当前时间
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	boolean contains(long high, long low, long now) {
+		int hash = hash(high);
+		return stripe(hash).contains(high, low, hash, now);
+	}
+
+	/**
+	 * 获取key的过期时间,不存在时返回0。已过期但尚未清除的记录仍返回其过期时间
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @author Frodez
+	 * @date 2019-05-23
+	 */
+	long deadline(long high, long low) {
+		int hash = hash(high);
+		return stripe(hash).deadline(high, low, hash);
+	}
+
+	/**
+	 * 删除key
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	void remove(long high, long low) {
+		int hash = hash(high);
+		stripe(hash).remove(high, low, hash, 0, true);
+	}
+
+	/**
+	 * 仅当key已过期时删除key,返回是否删除
+	 * @param high key的高64位
+	 * @param low key的低64位
+	 * @param now 当前时间
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	boolean removeIfExpired(long high, long low, long now) {
+		int hash = hash(high);
+		return stripe(hash).remove(high, low, hash, now, false);
+	}
+
+	/**
+	 * 表中记录数(包括尚未清除的过期记录)
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	private Stripe stripe(int hash) {
+		//段使用高位,段内槽位使用低位,避免同一段内的key集中
+		return stripes[(hash >>> 16) & mask];
+	}
+
+	private static int hash(long high) {
+		//key本身是均匀分布的哈希值,直接折叠即可
+		return (int) (high ^ (high >>> 32));
+	}
+
+	private static int powerOfTwo(int value) {
+		int result = 1;
+		while (result < value) {
+			result <<= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * 段
+	 * @author Frodez
+	 * @date 2019-05-22
+	 */
+	private static final class Stripe {
+
+		private boolean[] used;
+
+		private long[] highs;
+
+		private long[] lows;
+
+		private long[] deadlines;
+
+		private int size;
+
+		Stripe(int capacity) {
+			allocate(capacity);
+		}
+
+		private void allocate(int capacity) {
+			used = new boolean[capacity];
+			highs = new long[capacity];
+			lows = new long[capacity];
+			deadlines = new long[capacity];
+		}
+
+		synchronized boolean putIfAbsent(long high, long low, int hash, long deadline, long now) {
+			int index = indexOf(high, low, hash);
+			if (used[index]) {
+				if (deadlines[index] - now > 0) {
+					return false;
+				}
+				deadlines[index] = deadline;
+				return true;
+			}
+			insert(index, high, low, deadline, now);
+			return true;
+		}
+
+		synchronized void put(long high, long low, int hash, long deadline, long now) {
+			int index = indexOf(high, low, hash);
+			if (used[index]) {
+				deadlines[index] = deadline;
+				return;
+			}
+			insert(index, high, low, deadline, now);
+		}
+
+		synchronized boolean contains(long high, long low, int hash, long now) {
+			int index = indexOf(high, low, hash);
+			return used[index] && deadlines[index] - now > 0;
+		}
+
+		synchronized long deadline(long high, long low, int hash) {
+			int index = indexOf(high, low, hash);
+			return used[index] ? deadlines[index] : 0;
+		}
+
+		synchronized boolean remove(long high, long low, int hash, long now, boolean force) {
+			int index = indexOf(high, low, hash);
+			if (!used[index] || (!force && deadlines[index] - now > 0)) {
+				return false;
+			}
+			delete(index);
+			return true;
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		/**
+		 * 查找key所在槽位,不存在时返回探测终止的空槽位
+		 */
+		private int indexOf(long high, long low, int hash) {
+			int mask = used.length - 1;
+			int index = hash & mask;
+			while (used[index] && (highs[index] != high || lows[index] != low)) {
+				index = (index + 1) & mask;
+			}
+			return index;
+		}
+
+		private void insert(int index, long high, long low, long deadline, long now) {
+			used[index] = true;
+			highs[index] = high;
+			lows[index] = low;
+			deadlines[index] = deadline;
+			//负载因子0.5
+			if (++size << 1 > used.length) {
+				rehash(now);
+			}
+		}
+
+		/**
+		 * 后移删除:将探测链上后续记录前移,保证查找不会被空槽位提前终止
+		 */
+		private void delete(int index) {
+			int mask = used.length - 1;
+			int hole = index;
+			int next = index;
+			for (;;) {
+				next = (next + 1) & mask;
+				if (!used[next]) {
+					break;
+				}
+				int ideal = hash(highs[next]) & mask;
+				//理想槽位在(hole, next]区间内的记录不能前移
+				boolean stay = hole <= next ? hole < ideal && ideal <= next : hole < ideal || ideal <= next;
+				if (!stay) {
+					highs[hole] = highs[next];
+					lows[hole] = lows[next];
+					deadlines[hole] = deadlines[next];
+					hole = next;
+				}
+			}
+			used[hole] = false;
+			size--;
+		}
+
+		/**
+		 * 重新散列,同时清除已过期的记录。清除后记录仍然较多时扩容
+		 */
+		private void rehash(long now) {
+			boolean[] oldUsed = used;
+			long[] oldHighs = highs;
+			long[] oldLows = lows;
+			long[] oldDeadlines = deadlines;
+			int alive = 0;
+			for (int i = 0; i < oldUsed.length; i++) {
+				if (oldUsed[i] && oldDeadlines[i] - now > 0) {
+					alive++;
+				}
+			}
+			int capacity = alive << 2 > oldUsed.length ? oldUsed.length << 1 : oldUsed.length;
+			allocate(capacity);
+			size = 0;
+			int mask = capacity - 1;
+			for (int i = 0; i < oldUsed.length; i++) {
+				if (!oldUsed[i] || oldDeadlines[i] - now <= 0) {
+					continue;
+				}
+				int index = hash(oldHighs[i]) & mask;
+				while (used[index]) {
+					index = (index + 1) & mask;
+				}
+				used[index] = true;
+				highs[index] = oldHighs[i];
+				lows[index] = oldLows[i];
+				deadlines[index] = oldDeadlines[i];
+				size++;
+			}
+		}
+
+	}
+
+}
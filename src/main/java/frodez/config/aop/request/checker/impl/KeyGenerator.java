@@ -1,30 +1,66 @@
 package frodez.config.aop.request.checker.impl;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import frodez.config.aop.request.checker.facade.RequestKey;
 import frodez.config.security.util.TokenUtil;
-import frodez.util.common.StrUtil;
-import frodez.util.constant.setting.DefStr;
+import frodez.util.constant.setting.DefCharset;
 import frodez.util.http.ServletUtil;
 import frodez.util.http.URLMatcher;
+import frodez.util.reflect.ReflectUtil;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Component;
 
+/**
+ * 重复请求检查key生成器<br>
+ * key为方法id、路由id和请求主体(token或IP)的128位murmur3哈希,长度固定,不随token长度增长。<br>
+ * @author Frodez
+ * @date 2019-05-24
+ */
 @Component
 public class KeyGenerator {
 
-	public static String servletKey(String sault, HttpServletRequest request) {
-		String key = StrUtil.concat(sault, DefStr.SEPERATOR, request.getRequestURI());
-		if (URLMatcher.needVerify(request.getRequestURI())) {
+	private static final HashFunction HASH = Hashing.murmur3_128();
+
+	/**
+	 * 方法id缓存
+	 */
+	private static final Map<Method, Long> METHOD_ID_CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * 生成key
+	 * @param method 被拦截的方法
+	 * @param request 请求
+	 * @author Frodez
+	 * @date 2019-05-24
+	 */
+	public static RequestKey servletKey(Method method, HttpServletRequest request) {
+		String uri = request.getRequestURI();
+		Hasher hasher = HASH.newHasher().putLong(methodId(method)).putInt(uri.length()).putUnencodedChars(uri);
+		if (URLMatcher.needVerify(uri)) {
 			// 非登录接口使用token判断,同一token不能重复请求
 			String fullToken = TokenUtil.getFullToken(request);
-			if (fullToken == null) {
-				return key;
-			} else {
-				return StrUtil.concat(key, DefStr.SEPERATOR, fullToken);
+			if (fullToken != null) {
+				hasher.putByte((byte) 1).putUnencodedChars(fullToken);
 			}
 		} else {
 			// 登录接口使用IP判断,同一IP不能重复请求
-			return StrUtil.concat(key, DefStr.SEPERATOR, ServletUtil.getAddr(request));
+			hasher.putByte((byte) 2).putUnencodedChars(ServletUtil.getAddr(request));
+		}
+		return RequestKey.of(hasher.hash().asBytes());
+	}
+
+	private static long methodId(Method method) {
+		Long id = METHOD_ID_CACHE.get(method);
+		if (id == null) {
+			id = HASH.hashString(ReflectUtil.getFullMethodName(method), DefCharset.UTF_8_CHARSET).asLong();
+			METHOD_ID_CACHE.put(method, id);
 		}
+		return id;
 	}
 
 }
@@ -3,6 +3,7 @@ package frodez.config.aop.request.checker.impl;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import frodez.config.aop.request.checker.facade.ManualChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
 import frodez.config.cache.CacheProperties;
 import frodez.util.constant.setting.DefTime;
 import frodez.util.spring.ContextUtil;
@@ -20,7 +21,7 @@ import org.springframework.util.Assert;
 @DependsOn("contextUtil")
 public class ManualGuavaChecker implements ManualChecker {
 
-	private Cache<String, Boolean> cache;
+	private Cache<RequestKey, Boolean> cache;
 
 	@PostConstruct
 	private void init() {
@@ -30,17 +31,22 @@ public class ManualGuavaChecker implements ManualChecker {
 	}
 
 	@Override
-	public boolean check(String key) {
+	public boolean check(RequestKey key) {
 		return cache.getIfPresent(key) != null;
 	}
 
 	@Override
-	public void lock(String key) {
+	public void lock(RequestKey key) {
 		cache.put(key, true);
 	}
 
 	@Override
-	public void free(String key) {
+	public boolean tryLock(RequestKey key) {
+		return cache.asMap().putIfAbsent(key, true) == null;
+	}
+
+	@Override
+	public void free(RequestKey key) {
 		cache.invalidate(key);
 	}
 
@@ -1,15 +1,24 @@
 package frodez.config.aop.request.checker.impl;
 
 import frodez.config.aop.request.checker.facade.ManualChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.redis.RedisBreakerProperties;
+import frodez.config.redis.RedisCircuitBreaker;
 import frodez.service.cache.base.BaseRedisCache;
+import frodez.util.constant.setting.DefCharset;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /**
- * 阻塞型重复请求检查REDIS实现
+ * 阻塞型重复请求检查REDIS实现<br>
+ * redis调用经过RedisCircuitBreaker,熔断或调用失败时降级到guava实现。<br>
+ * 锁使用redis.breaker.lock-timeout作为安全过期时间,释放锁时无论是否熔断都会发送DEL,防止超时后仍写入redis的锁无法释放。
  * @author Frodez
  * @date 2019-01-21
  */
+@Slf4j
 @Component("repeatRedisChecker")
 public class ManualRedisChecker implements ManualChecker {
 
@@ -19,19 +28,68 @@ public class ManualRedisChecker implements ManualChecker {
 	@Autowired
 	private BaseRedisCache redisService;
 
+	/**
+	 * redis熔断器
+	 */
+	@Autowired
+	private RedisCircuitBreaker breaker;
+
+	/**
+	 * redis熔断配置
+	 */
+	@Autowired
+	private RedisBreakerProperties properties;
+
+	/**
+	 * 降级使用的本地实现
+	 */
+	@Autowired
+	@Qualifier("repeatGuavaChecker")
+	private ManualChecker fallback;
+
+	/**
+	 * key前缀
+	 */
+	private static final byte[] PREFIX = "repeat:".getBytes(DefCharset.UTF_8_CHARSET);
+
+	/**
+	 * 占位值
+	 */
+	private static final byte[] VALUE = new byte[] { 1 };
+
+	@Override
+	public boolean check(RequestKey key) {
+		return breaker.execute(() -> redisService.existsRawAsync(key.bytes(PREFIX)), () -> fallback.check(key));
+	}
+
 	@Override
-	public boolean check(String key) {
-		return redisService.exists(key);
+	public void lock(RequestKey key) {
+		breaker.execute(() -> redisService.setRawAsync(key.bytes(PREFIX), VALUE, properties.getLockTimeout()), () -> {
+			fallback.lock(key);
+			return null;
+		});
 	}
 
 	@Override
-	public void lock(String key) {
-		redisService.set(key, true);
+	public boolean tryLock(RequestKey key) {
+		return breaker.execute(() -> redisService.setIfAbsentRawAsync(key.bytes(PREFIX), VALUE, properties
+			.getLockTimeout()), () -> fallback.tryLock(key));
 	}
 
 	@Override
-	public void free(String key) {
-		redisService.delete(key);
+	public void free(RequestKey key) {
+		//熔断期间的锁在本地实现中,因此总是释放本地锁
+		fallback.free(key);
+		//超时的SET NX仍可能写入redis,因此不经过熔断器,总是发送DEL且不等待结果
+		try {
+			redisService.deleteRawAsync(key.bytes(PREFIX)).whenComplete((deleted, e) -> {
+				if (e != null) {
+					log.warn("[ManualRedisChecker]释放锁失败,等待锁过期:{}", e.getMessage());
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("[ManualRedisChecker]释放锁失败,等待锁过期:{}", e.getMessage());
+		}
 	}
 
 }
@@ -0,0 +1,61 @@
+package frodez.config.aop.request.checker.impl;
+
+import frodez.config.aop.request.checker.facade.ManualChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.cache.CacheProperties;
+import frodez.config.cache.CacheProperties.ManualStripedCheckerProperties;
+import frodez.util.constant.setting.DefTime;
+import frodez.util.spring.ContextUtil;
+import javax.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * 阻塞型重复请求检查分段开放寻址表实现<br>
+ * 加锁记录带有过期时间,防止因异常未能解锁时key永久残留。<br>
+ * @author Frodez
+ * @date 2019-05-22
+ */
+@Component("repeatStripedChecker")
+@DependsOn("contextUtil")
+public class ManualStripedChecker implements ManualChecker {
+
+	private ExpiringKeyTable table;
+
+	/**
+	 * 超时时间,单位纳秒
+	 */
+	private long timeout;
+
+	@PostConstruct
+	private void init() {
+		ManualStripedCheckerProperties properties = ContextUtil.get(CacheProperties.class).getManualStripedChecker();
+		timeout = DefTime.UNIT.toNanos(properties.getTimeout());
+		table = new ExpiringKeyTable(properties.getConcurrency(), properties.getInitialCapacity());
+		Assert.notNull(table, "table must not be null");
+	}
+
+	@Override
+	public boolean check(RequestKey key) {
+		return table.contains(key.getHigh(), key.getLow(), System.nanoTime());
+	}
+
+	@Override
+	public void lock(RequestKey key) {
+		long now = System.nanoTime();
+		table.put(key.getHigh(), key.getLow(), now + timeout, now);
+	}
+
+	@Override
+	public boolean tryLock(RequestKey key) {
+		long now = System.nanoTime();
+		return table.putIfAbsent(key.getHigh(), key.getLow(), now + timeout, now);
+	}
+
+	@Override
+	public void free(RequestKey key) {
+		table.remove(key.getHigh(), key.getLow());
+	}
+
+}
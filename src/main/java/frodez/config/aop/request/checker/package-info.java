@@ -1,8 +1,10 @@
 /**
  * 本包用于支持限流策略配置的实现。<br>
  * facade是接口。<br>
- * impl是实现，目前包括RepeatLock和TimeoutLock所用的两组实现，分别使用guava-cache和redis。<br>
- * impl中的KeyGenerator用于RepeatLock和TimeoutLock。
+ * impl是实现，目前包括RepeatLock和TimeoutLock所用的两组实现，分别使用guava-cache和redis。redis实现在熔断或调用失败时降级到guava-cache实现。<br>
+ * RepeatLock另有分段开放寻址表实现，检查与加锁为原子操作，且不为每个key创建额外对象。<br>
+ * TimeoutLock另有时间轮实现，在分段开放寻址表的基础上由哈希时间轮批量清除过期key。<br>
+ * impl中的KeyGenerator用于RepeatLock和TimeoutLock，生成固定128位的RequestKey，redis实现中编码为前缀+16字节。
  * @author Frodez
  * @date 2019-03-11
  */
@@ -0,0 +1,27 @@
+package frodez.config.aop.request.etag;
+
+/**
+ * 数据聚合,每个聚合拥有独立的版本号
+ * @author Frodez
+ * @date 2019-05-27
+ */
+public enum Aggregate {
+
+	/**
+	 * 权限
+	 */
+	PERMISSION,
+	/**
+	 * 角色
+	 */
+	ROLE,
+	/**
+	 * 角色权限关系
+	 */
+	ROLE_PERMISSION,
+	/**
+	 * 用户信息
+	 */
+	USER;
+
+}
@@ -0,0 +1,70 @@
+package frodez.config.aop.request.etag;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 聚合版本号<br>
+ * 数据变更后递增对应聚合的版本号,ETag由版本号计算得到,版本号不变即可认为数据未变化。<br>
+ * 存在事务时在事务提交后递增,事务回滚则不递增,避免读请求在提交前以新版本号缓存旧数据。<br>
+ * 版本号保存在本机内存中,启动时间参与ETag计算,重启后所有ETag自动失效。多实例部署时各实例的版本号互不相通。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Component
+public class AggregateVersions {
+
+	/**
+	 * 启动时间
+	 */
+	private final long epoch = System.currentTimeMillis();
+
+	private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+	/**
+	 * 获取启动时间
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public long epoch() {
+		return epoch;
+	}
+
+	/**
+	 * 获取聚合的版本号
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public long get(Aggregate aggregate) {
+		return versions.get(aggregate.ordinal());
+	}
+
+	/**
+	 * 递增聚合的版本号,存在事务时在事务提交后递增
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public void bump(Aggregate... aggregates) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			increment(aggregates);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void afterCommit() {
+				increment(aggregates);
+			}
+
+		});
+	}
+
+	private void increment(Aggregate[] aggregates) {
+		for (Aggregate aggregate : aggregates) {
+			versions.incrementAndGet(aggregate.ordinal());
+		}
+	}
+
+}
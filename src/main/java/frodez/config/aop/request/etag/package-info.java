@@ -0,0 +1,8 @@
+/**
+ * 本包提供条件请求AOP使用的版本管理。<br>
+ * 1.Aggregate为参与ETag计算的数据聚合。<br>
+ * 2.AggregateVersions为每个聚合维护版本号，数据变更的事务提交后递增。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+package frodez.config.aop.request.etag;
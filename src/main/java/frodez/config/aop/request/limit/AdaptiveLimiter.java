@@ -0,0 +1,204 @@
+package frodez.config.aop.request.limit;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 自适应并发限制器<br>
+ * 采用梯度算法:以长期响应时间为基线,短期响应时间为当前值,<br>
+ * 新上限 = 旧上限 * clamp(容忍度 * 长期 / 短期, 0.5, 1.0) + sqrt(旧上限),再做平滑。<br>
+ * 响应时间上升时上限按比例收缩,响应时间正常时上限以排队余量缓慢增长。<br>
+ * 获取许可为无锁CAS操作;更新估计值时若有其他线程正在更新则直接丢弃该样本,不阻塞请求线程。<br>
+ * @author Frodez
+ * @date 2019-05-20
+ */
+public class AdaptiveLimiter {
+
+	/**
+	 * 短期响应时间的平滑系数
+	 */
+	private static final double SHORT_ALPHA = 0.2;
+
+	/**
+	 * 长期响应时间的平滑系数(约等于最近600个样本)
+	 */
+	private static final double LONG_ALPHA = 2.0 / 601;
+
+	/**
+	 * 上限的平滑系数
+	 */
+	private static final double SMOOTHING = 0.2;
+
+	/**
+	 * 最小梯度
+	 */
+	private static final double MIN_GRADIENT = 0.5;
+
+	private final int min;
+
+	private final int max;
+
+	private final double tolerance;
+
+	/**
+	 * 当前并发上限
+	 */
+	private volatile double limit;
+
+	/**
+	 * 短期响应时间,单位纳秒
+	 */
+	private volatile double shortRtt;
+
+	/**
+	 * 长期响应时间,单位纳秒
+	 */
+	private volatile double longRtt;
+
+	/**
+	 * 当前并发数
+	 */
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	/**
+	 * 更新标志,保证同一时刻只有一个线程更新估计值
+	 */
+	private final AtomicBoolean updating = new AtomicBoolean();
+
+	/**
+	 * 通过数
+	 */
+	private final LongAdder passed = new LongAdder();
+
+	/**
+	 * 拒绝数
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	public AdaptiveLimiter(int initial, int min, int max, double tolerance) {
+		this.limit = initial;
+		this.min = min;
+		this.max = max;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * 尝试获取许可,成功时返回获取前的并发数,失败时返回-1
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	public int tryAcquire() {
+		for (;;) {
+			int current = inflight.get();
+			if (current >= (int) limit) {
+				rejected.increment();
+				return -1;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				passed.increment();
+				return current;
+			}
+		}
+	}
+
+	/**
+	 * 释放许可并记录本次响应时间
+	 * @param rtt 响应时间,单位纳秒
+	 * @param inflightAtStart 获取许可时的并发数
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	public void release(long rtt, int inflightAtStart) {
+		inflight.decrementAndGet();
+		if (rtt <= 0 || !updating.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			update(rtt, inflightAtStart);
+		} finally {
+			updating.set(false);
+		}
+	}
+
+	private void update(long rtt, int inflightAtStart) {
+		double shortValue = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) * SHORT_ALPHA;
+		double longValue = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_ALPHA;
+		//短期值远低于基线时说明基线已经过时(例如此前经历过一次抖动),使基线加快回落
+		if (longValue / shortValue > 2) {
+			longValue = longValue * 0.95;
+		}
+		shortRtt = shortValue;
+		longRtt = longValue;
+		double current = limit;
+		//并发远未达到上限时,响应时间无法反映上限是否合适,此时不调整
+		if (inflightAtStart < current / 2) {
+			return;
+		}
+		double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longValue / shortValue));
+		double next = current * gradient + Math.sqrt(current);
+		next = current * (1 - SMOOTHING) + next * SMOOTHING;
+		limit = Math.max(min, Math.min(max, next));
+	}
+
+	/**
+	 * 获取当前状态
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	public Status status() {
+		double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+		return new Status((int) limit, inflight.get(), shortRtt / nanosPerMilli, longRtt / nanosPerMilli, passed
+			.sum(), rejected.sum());
+	}
+
+	/**
+	 * 限制器状态
+	 * @author Frodez
+	 * @date 2019-05-20
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 当前并发上限
+		 */
+		private int limit;
+
+		/**
+		 * 当前并发数
+		 */
+		private int inflight;
+
+		/**
+		 * 短期响应时间,单位毫秒
+		 */
+		private double shortRtt;
+
+		/**
+		 * 长期响应时间,单位毫秒
+		 */
+		private double longRtt;
+
+		/**
+		 * 通过数
+		 */
+		private long passed;
+
+		/**
+		 * 拒绝数
+		 */
+		private long rejected;
+
+	}
+
+}
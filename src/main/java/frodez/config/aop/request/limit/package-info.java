@@ -0,0 +1,7 @@
+/**
+ * 本包提供限流AOP使用的限制器实现。<br>
+ * 1.AdaptiveLimiter根据观察到的响应时间动态调整并发上限。<br>
+ * @author Frodez
+ * @date 2019-05-20
+ */
+package frodez.config.aop.request.limit;
@@ -4,6 +4,9 @@
  * 1.每用户每端点阻塞（即不能并发请求）。<br>
  * 2.每用户每端点阻塞，且每次请求之间有固定时间间隔。<br>
  * 3.每端点限制每秒请求数量。<br>
+ * 4.每端点根据响应时间自适应限制并发数量。<br>
+ * 另外提供基于聚合版本号的ETag条件请求，数据未变化时直接返回304。<br>
+ * 另外提供响应短时缓存，缓存已序列化的响应并合并同时到达的相同请求。<br>
  * @author Frodez
  * @date 2019-03-11
  */
@@ -1,9 +1,11 @@
 package frodez.config.aop.validation;
 
 import frodez.config.aop.validation.annotation.Check;
+import frodez.config.aop.validation.checker.ParameterChecker;
 import frodez.util.beans.result.Result;
-import frodez.util.common.ValidationUtil;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.ClassFilter;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Component;
 /**
  * 验证参数AOP<br>
  * 使用方法:在方法的实现上加入@check注解,然后在方法实现的请求参数上使用hibernate validation api支持的方式配置验证.<br>
+ * 验证逻辑在切面匹配时由ParameterChecker在运行时构建并缓存,简单约束直接检查,其他约束调用hibernate-validator.<br>
  * @author Frodez
  * @date 2019-01-12
  */
@@ -23,6 +26,11 @@ import org.springframework.stereotype.Component;
 @Order(Integer.MAX_VALUE)
 public class ValidationAdvisor implements PointcutAdvisor {
 
+	/**
+	 * 参数检查器缓存
+	 */
+	private Map<Method, ParameterChecker> checkerCache = new ConcurrentHashMap<>();
+
 	/**
 	 * AOP切点
 	 * @author Frodez
@@ -36,8 +44,7 @@ public class ValidationAdvisor implements PointcutAdvisor {
 		 * @date 2019-05-10
 		 */
 		return (MethodInterceptor) invocation -> {
-			String msg = ValidationUtil.validateParam(invocation.getThis(), invocation.getMethod(), invocation
-				.getArguments());
+			String msg = checkerCache.get(invocation.getMethod()).check(invocation.getThis(), invocation.getArguments());
 			return msg == null ? invocation.proceed() : Result.errorRequest(msg);
 		};
 	}
@@ -87,6 +94,7 @@ public class ValidationAdvisor implements PointcutAdvisor {
 						if (method.getReturnType() != Result.class) {
 							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
 						}
+						checkerCache.computeIfAbsent(method, ParameterChecker::compile);
 						return true;
 					}
 
@@ -107,6 +115,7 @@ public class ValidationAdvisor implements PointcutAdvisor {
 						if (method.getReturnType() != Result.class) {
 							throw new IllegalArgumentException("本方法的返回值类型必须为" + Result.class.getName());
 						}
+						checkerCache.computeIfAbsent(method, ParameterChecker::compile);
 						return true;
 					}
 
@@ -13,6 +13,7 @@ import javax.validation.Constraint;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.Payload;
+import org.springframework.cglib.reflect.FastMethod;
 
 /**
  * 枚举类型验证注解 <br>
@@ -120,7 +121,9 @@ public @interface LegalEnum {
 	Class<? extends Payload>[] payload() default {};
 
 	/**
-	 * 枚举验证器
+	 * 枚举验证器<br>
+	 * 初始化时解析出枚举的全部合法值:验证方法参数类型为byte或short时,逐一调用验证方法,将结果存入位图,验证时只需一次数组访问;<br>
+	 * 其他参数类型时缓存验证方法,验证时直接调用。验证失败的错误信息也在初始化时生成。<br>
 	 * @author Frodez
 	 * @date 2018-12-17
 	 */
@@ -129,24 +132,39 @@ public @interface LegalEnum {
 		private static final Object[] NULLPARAM_OBJECTS = new Object[] { null };
 
 		/**
-		 * 枚举类
+		 * 验证方法参数类型,默认值为byte.class
 		 */
-		private Class<? extends Enum<?>> klass;
+		private Class<?> paramType;
 
 		/**
-		 * 验证方法,默认值为"of"
+		 * 合法值位图,下标为值减去最小值。验证方法参数类型不为byte或short时为null
 		 */
-		private String method;
+		private long[] table;
 
 		/**
-		 * 获取枚举所有值的方法名,默认为getIntroduction。
+		 * 位图对应的最小值
 		 */
-		private String introductionMethod;
+		private int offset;
 
 		/**
-		 * 验证方法参数类型,默认值为byte.class
+		 * 位图是否为byte类型
 		 */
-		private Class<?> paramType;
+		private boolean byteTable;
+
+		/**
+		 * 验证方法,仅在位图不可用时使用
+		 */
+		private FastMethod method;
+
+		/**
+		 * 枚举所有值的说明
+		 */
+		private String introduction;
+
+		/**
+		 * 验证失败时的错误信息
+		 */
+		private String message;
 
 		/**
 		 * 根据注解信息初始化验证器
@@ -155,10 +173,35 @@ public @interface LegalEnum {
 		 */
 		@Override
 		public void initialize(LegalEnum enumValue) {
-			method = enumValue.method();
-			klass = enumValue.type();
+			Class<? extends Enum<?>> klass = enumValue.type();
 			paramType = enumValue.paramType();
-			introductionMethod = enumValue.introductionMethod();
+			method = ReflectUtil.getFastMethod(klass, enumValue.method(), paramType);
+			try {
+				introduction = ReflectUtil.getFastMethod(klass, enumValue.introductionMethod()).invoke(null,
+					NULLPARAM_OBJECTS).toString();
+				if (paramType == byte.class || paramType == Byte.class) {
+					byteTable = true;
+					table = table(Byte.MIN_VALUE, Byte.MAX_VALUE);
+				} else if (paramType == short.class || paramType == Short.class) {
+					table = table(Short.MIN_VALUE, Short.MAX_VALUE);
+				}
+			} catch (InvocationTargetException e) {
+				throw new RuntimeException(e);
+			}
+			message = StrUtil.concat("${validatedValue}不符合要求,有效值为", introduction);
+		}
+
+		private long[] table(int min, int max) throws InvocationTargetException {
+			offset = min;
+			long[] bits = new long[((max - min) >>> 6) + 1];
+			Object[] param = new Object[1];
+			for (int i = min; i <= max; i++) {
+				param[0] = ReflectUtil.primitiveAdapt(i, paramType);
+				if (method.invoke(null, param) != null) {
+					bits[(i - min) >>> 6] |= 1L << (i - min);
+				}
+			}
+			return bits;
 		}
 
 		/**
@@ -172,20 +215,52 @@ public @interface LegalEnum {
 				//对于非空检查的情况,请继续使用@NotNull注解
 				return true;
 			}
+			if (isLegal(value)) {
+				return true;
+			}
+			ValidationUtil.changeMessage(context, message);
+			return false;
+		}
+
+		/**
+		 * 判断非空值是否为合法的枚举值
+		 * @author Frodez
+		 * @date 2019-05-26
+		 */
+		public boolean isLegal(Object value) {
+			if (table != null) {
+				Number number = number(value);
+				int index = (byteTable ? number.byteValue() : number.shortValue()) - offset;
+				return (table[index >>> 6] & (1L << index)) != 0;
+			}
 			try {
-				if (ReflectUtil.getFastMethod(klass, method, paramType).invoke(null, new Object[] { ReflectUtil
-					.primitiveAdapt(value, paramType) }) != null) {
-					return true;
-				} else {
-					ValidationUtil.changeMessage(context, StrUtil.concat("${validatedValue}不符合要求,有效值为", ReflectUtil
-						.getFastMethod(klass, introductionMethod).invoke(null, NULLPARAM_OBJECTS).toString()));
-					return false;
-				}
+				return method.invoke(null, new Object[] { ReflectUtil.primitiveAdapt(value, paramType) }) != null;
 			} catch (InvocationTargetException e) {
 				throw new RuntimeException(e);
 			}
 		}
 
+		/**
+		 * 与ReflectUtil.primitiveAdapt一致,只接受byte, short, int, long的装箱类,超出范围时截断
+		 */
+		private static Number number(Object value) {
+			Class<?> valueClass = value.getClass();
+			if (valueClass == Byte.class || valueClass == Short.class || valueClass == Integer.class
+				|| valueClass == Long.class) {
+				return (Number) value;
+			}
+			throw new UnsupportedOperationException("只能用于byte, short, int, long以及对应装箱类,以及void类型!");
+		}
+
+		/**
+		 * 获取枚举所有有效值的说明
+		 * @author Frodez
+		 * @date 2019-05-26
+		 */
+		public String getIntroduction() {
+			return introduction;
+		}
+
 	}
 
 }
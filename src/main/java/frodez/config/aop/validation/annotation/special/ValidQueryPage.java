@@ -37,7 +37,14 @@ public @interface ValidQueryPage {
 			if (page == null) {
 				return true;
 			}
-			if (page.getPageNum() <= 0) {
+			if (page.isSeek()) {
+				try {
+					page.getLastId();
+				} catch (IllegalArgumentException e) {
+					ValidationUtil.changeMessage(context, "cursor不合法.");
+					return false;
+				}
+			} else if (page.getPageNum() <= 0) {
 				ValidationUtil.changeMessage(context, "pageNum必须是正数.");
 				return false;
 			}
@@ -0,0 +1,212 @@
+package frodez.config.aop.validation.checker;
+
+import frodez.config.aop.validation.checker.ConstraintChecks.Check;
+import frodez.util.common.StrUtil;
+import frodez.util.common.ValidationUtil;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.validation.Valid;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 参数对象检查器<br>
+ * 对@Valid级联验证的参数对象(如frodez.dao.param中的参数),首次使用时在运行时为其类型构建检查逻辑并缓存:<br>
+ * 类上的约束直接检查对象本身,属性上的约束与hibernate-validator一样通过反射读取字段值后检查,嵌套的@Valid属性递归构建。<br>
+ * 检查时跳过hibernate-validator的元数据查找,但每次检查仍通过反射读取字段,错误信息格式与hibernate-validator相同。<br>
+ * 类型中存在无法构建检查的约束(如@Size、@Email、分组约束、容器元素约束、getter上的约束)时,该类型整体回退到hibernate-validator。<br>
+ * @author Frodez
+ * @date 2019-05-26
+ */
+public class BeanChecker {
+
+	/**
+	 * 检查器缓存,key为类型和错误定位名称,无法构建检查的类型对应NONE
+	 */
+	private static final Map<String, BeanChecker> CACHE = new ConcurrentHashMap<>();
+
+	private static final BeanChecker NONE = new BeanChecker(null, null);
+
+	/**
+	 * 正在构建的类型,用于防止循环引用
+	 */
+	private static final Set<Class<?>> COMPILING = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	/**
+	 * 类上的约束检查
+	 */
+	private final Check[] classChecks;
+
+	/**
+	 * 属性检查
+	 */
+	private final Property[] properties;
+
+	private BeanChecker(Check[] classChecks, Property[] properties) {
+		this.classChecks = classChecks;
+		this.properties = properties;
+	}
+
+	/**
+	 * 获取类型对应的检查器,无法构建时返回null
+	 * @param klass 类型
+	 * @param name 错误定位名称,类上的约束验证失败时使用
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	public static BeanChecker of(Class<?> klass, String name) {
+		String key = StrUtil.concat(klass.getName(), "#", name);
+		BeanChecker checker = CACHE.get(key);
+		if (checker == null) {
+			if (!COMPILING.add(klass)) {
+				return null;
+			}
+			try {
+				checker = compile(klass, name);
+			} finally {
+				COMPILING.remove(klass);
+			}
+			CACHE.put(key, checker == null ? NONE : checker);
+		}
+		return checker == NONE ? null : checker;
+	}
+
+	/**
+	 * 检查对象,检查通过返回null,否则返回错误信息
+	 * @param bean 对象,不能为空
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	public String check(Object bean) {
+		for (Check check : classChecks) {
+			String message = check.check(bean);
+			if (message != null) {
+				return message;
+			}
+		}
+		for (Property property : properties) {
+			Object value = property.get(bean);
+			for (Check check : property.checks) {
+				String message = check.check(value);
+				if (message != null) {
+					return message;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 构建级联验证的检查。能构建检查器时直接使用,否则回退到hibernate-validator验证该对象<br>
+	 * 对象为空时不做检查;对象的实际类型与声明类型不同时,同样回退到hibernate-validator。
+	 * @param type 声明类型
+	 * @param name 错误定位名称(参数名或属性名)
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	static Check cascade(Class<?> type, String name) {
+		BeanChecker checker = of(type, name);
+		if (checker == null) {
+			return (value) -> ValidationUtil.validateCascade(value, name);
+		}
+		return (value) -> {
+			if (value == null) {
+				return null;
+			}
+			return value.getClass() == type ? checker.check(value) : ValidationUtil.validateCascade(value, name);
+		};
+	}
+
+	private static BeanChecker compile(Class<?> klass, String name) {
+		if (klass.isInterface() || klass.isArray() || klass.isPrimitive() || klass.getName().startsWith("java.")) {
+			return null;
+		}
+		List<Check> classChecks = new ArrayList<>();
+		List<Property> properties = new ArrayList<>();
+		for (Class<?> type = klass; type != null && type != Object.class; type = type.getSuperclass()) {
+			if (hasGetterConstraints(type)) {
+				return null;
+			}
+			for (Annotation annotation : type.getAnnotations()) {
+				if (!ConstraintChecks.isConstraint(annotation)) {
+					continue;
+				}
+				Check check = ConstraintChecks.compile(annotation, klass, name);
+				if (check == null) {
+					return null;
+				}
+				classChecks.add(check);
+			}
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				Check[] checks = ParameterChecker.compile(field.getAnnotatedType(), field.getAnnotations(), field
+					.getType(), field.getName());
+				if (checks == null) {
+					return null;
+				}
+				if (checks.length != 0) {
+					field.setAccessible(true);
+					properties.add(new Property(field, checks));
+				}
+			}
+		}
+		for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(klass)) {
+			if (ConstraintChecks.hasConstraint(type.getAnnotations()) || hasGetterConstraints(type)) {
+				return null;
+			}
+		}
+		return new BeanChecker(classChecks.toArray(new Check[classChecks.size()]), properties.toArray(
+			new Property[properties.size()]));
+	}
+
+	/**
+	 * getter上是否声明了约束或级联验证
+	 */
+	private static boolean hasGetterConstraints(Class<?> type) {
+		for (Method method : type.getDeclaredMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+				continue;
+			}
+			for (Annotation annotation : method.getAnnotations()) {
+				if (annotation instanceof Valid || ConstraintChecks.isConstraint(annotation)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 属性
+	 */
+	private static final class Property {
+
+		private final Field field;
+
+		private final Check[] checks;
+
+		private Property(Field field, Check[] checks) {
+			this.field = field;
+			this.checks = checks;
+		}
+
+		Object get(Object bean) {
+			try {
+				return field.get(bean);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+	}
+
+}
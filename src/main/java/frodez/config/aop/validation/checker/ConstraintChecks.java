@@ -0,0 +1,142 @@
+package frodez.config.aop.validation.checker;
+
+import frodez.config.aop.validation.annotation.common.LegalEnum;
+import frodez.util.common.StrUtil;
+import frodez.util.common.ValidationUtil;
+import frodez.util.constant.setting.DefStr;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import javax.validation.Constraint;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 约束检查构建器<br>
+ * 只处理语义简单、不需要ConstraintValidatorContext的约束,将其预先转换为检查逻辑,检查时不再查找元数据:<br>
+ * 1.@NotNull,@NotEmpty,@NotBlank直接判断,错误信息在构建时从资源文件中解析。<br>
+ * 2.@LegalEnum使用其预先计算的合法值表。<br>
+ * 其他约束(如@Size,@Min,@Match,@ValidQueryPage)、使用了分组的约束以及错误信息中带有表达式的约束无法构建,由调用方回退到hibernate-validator,
+ * 以保证验证语义和错误信息与hibernate-validator一致。<br>
+ * @author Frodez
+ * @date 2019-05-26
+ */
+final class ConstraintChecks {
+
+	private ConstraintChecks() {
+	}
+
+	/**
+	 * 检查,检查通过返回null,否则返回错误信息
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	@FunctionalInterface
+	interface Check {
+
+		String check(Object value);
+
+	}
+
+	/**
+	 * 构建约束的检查,无法构建时返回null
+	 * @param annotation 约束注解
+	 * @param type 被验证值的类型
+	 * @param name 错误定位名称(参数名或属性名)
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	static Check compile(Annotation annotation, Class<?> type, String name) {
+		Map<String, Object> attributes = AnnotationUtils.getAnnotationAttributes(annotation);
+		Object groups = attributes.get("groups");
+		if (groups instanceof Class<?>[] && ((Class<?>[]) groups).length != 0) {
+			return null;
+		}
+		String prefix = StrUtil.concat(name, DefStr.SEPERATOR);
+		if (annotation instanceof LegalEnum) {
+			LegalEnum.Validator validator = new LegalEnum.Validator();
+			validator.initialize((LegalEnum) annotation);
+			String suffix = StrUtil.concat("不符合要求,有效值为", validator.getIntroduction());
+			return (value) -> value == null || validator.isLegal(value) ? null : StrUtil.concat(prefix, value
+				.toString(), suffix);
+		}
+		if (!(annotation instanceof NotNull || annotation instanceof NotEmpty || annotation instanceof NotBlank)) {
+			return null;
+		}
+		String message = message((String) attributes.get("message"));
+		if (message == null) {
+			return null;
+		}
+		String error = prefix.concat(message);
+		Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(type);
+		if (annotation instanceof NotNull) {
+			return (value) -> value == null ? error : null;
+		}
+		if (annotation instanceof NotEmpty) {
+			if (!isSizeable(boxed)) {
+				return null;
+			}
+			return (value) -> value == null || size(value) == 0 ? error : null;
+		}
+		if (!CharSequence.class.isAssignableFrom(boxed)) {
+			return null;
+		}
+		return (value) -> value == null || value.toString().trim().isEmpty() ? error : null;
+	}
+
+	static boolean isConstraint(Annotation annotation) {
+		Class<? extends Annotation> type = annotation.annotationType();
+		if (type.isAnnotationPresent(Constraint.class)) {
+			return true;
+		}
+		//同类约束的容器注解,如@NotNull.List
+		Class<?> declaringClass = type.getDeclaringClass();
+		return declaringClass != null && declaringClass.isAnnotationPresent(Constraint.class);
+	}
+
+	static boolean hasConstraint(Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			if (isConstraint(annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 解析错误信息,解析后仍带有表达式时返回null,交给hibernate-validator插值
+	 */
+	private static String message(String template) {
+		if (template == null) {
+			return null;
+		}
+		String message = ValidationUtil.resolveMessage(template);
+		return message.indexOf('{') >= 0 || message.indexOf('$') >= 0 ? null : message;
+	}
+
+	/**
+	 * hibernate-validator的@NotEmpty支持的类型,其他类型由hibernate-validator处理
+	 */
+	private static boolean isSizeable(Class<?> type) {
+		return CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type) || Map.class
+			.isAssignableFrom(type) || type.isArray();
+	}
+
+	private static int size(Object value) {
+		if (value instanceof CharSequence) {
+			return ((CharSequence) value).length();
+		}
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).size();
+		}
+		if (value instanceof Map) {
+			return ((Map<?, ?>) value).size();
+		}
+		return Array.getLength(value);
+	}
+
+}
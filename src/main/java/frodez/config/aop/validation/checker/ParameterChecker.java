@@ -0,0 +1,202 @@
+package frodez.config.aop.validation.checker;
+
+import frodez.config.aop.validation.checker.ConstraintChecks.Check;
+import frodez.util.common.ValidationUtil;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.validation.Valid;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 方法参数检查器<br>
+ * 在切面匹配时根据方法参数上的约束注解在运行时构建检查逻辑并缓存,调用时按参数顺序执行,跳过hibernate-validator的元数据查找。<br>
+ * 1.参数上的约束由ConstraintChecks构建检查。<br>
+ * 2.@Valid级联验证的参数由BeanChecker为参数类型构建检查,无法构建时单独交给hibernate-validator验证该参数对象。<br>
+ * 3.无法构建的约束、跨参数约束、容器元素约束以及父类或接口中声明的约束,整个方法回退到完整的hibernate-validator验证。<br>
+ * 错误信息格式与ValidationUtil.validateParam相同。<br>
+ * @author Frodez
+ * @date 2019-05-26
+ */
+public class ParameterChecker {
+
+	private static final Check[] NO_CHECKS = new Check[0];
+
+	/**
+	 * 被检查的方法
+	 */
+	private final Method method;
+
+	/**
+	 * 是否回退到完整验证
+	 */
+	private final boolean fallback;
+
+	/**
+	 * 每个参数的检查,下标与参数下标对应
+	 */
+	private final Check[][] checks;
+
+	private ParameterChecker(Method method, boolean fallback, Check[][] checks) {
+		this.method = method;
+		this.fallback = fallback;
+		this.checks = checks;
+	}
+
+	/**
+	 * 构建方法参数检查器
+	 * @param method 方法
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	public static ParameterChecker compile(Method method) {
+		if (hasInheritedConstraints(method) || ConstraintChecks.hasConstraint(method.getAnnotations())) {
+			return new ParameterChecker(method, true, null);
+		}
+		Parameter[] parameters = method.getParameters();
+		Check[][] checks = new Check[parameters.length][];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter parameter = parameters[i];
+			checks[i] = compile(parameter.getAnnotatedType(), parameter.getAnnotations(), parameter.getType(), parameter
+				.getName());
+			if (checks[i] == null) {
+				return new ParameterChecker(method, true, null);
+			}
+		}
+		return new ParameterChecker(method, false, checks);
+	}
+
+	/**
+	 * 是否回退到完整验证
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	public boolean isFallback() {
+		return fallback;
+	}
+
+	/**
+	 * 检查参数,检查通过返回null,否则返回错误信息
+	 * @param instance 方法所在类实例
+	 * @param args 方法参数
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	public String check(Object instance, Object[] args) {
+		if (fallback) {
+			return ValidationUtil.validateParam(instance, method, args);
+		}
+		for (int i = 0; i < checks.length; i++) {
+			for (Check check : checks[i]) {
+				String message = check.check(args[i]);
+				if (message != null) {
+					return message;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 构建单个参数或属性的检查,无法构建时返回null
+	 * @param annotatedType 带注解的类型
+	 * @param annotations 参数或属性上的注解
+	 * @param type 参数或属性的类型
+	 * @param name 参数名或属性名
+	 * @author Frodez
+	 * @date 2019-05-26
+	 */
+	static Check[] compile(AnnotatedType annotatedType, Annotation[] annotations, Class<?> type, String name) {
+		if (hasTypeArgumentConstraints(annotatedType)) {
+			return null;
+		}
+		List<Check> list = new ArrayList<>();
+		Check cascade = null;
+		for (Annotation annotation : annotations) {
+			if (annotation instanceof Valid) {
+				if (isContainer(type)) {
+					return null;
+				}
+				cascade = BeanChecker.cascade(type, name);
+				continue;
+			}
+			if (!ConstraintChecks.isConstraint(annotation)) {
+				continue;
+			}
+			Check check = ConstraintChecks.compile(annotation, type, name);
+			if (check == null) {
+				return null;
+			}
+			list.add(check);
+		}
+		//与hibernate-validator一致,先检查参数本身的约束,再进行级联验证
+		if (cascade != null) {
+			list.add(cascade);
+		}
+		return list.isEmpty() ? NO_CHECKS : list.toArray(new Check[list.size()]);
+	}
+
+	/**
+	 * 级联验证会展开容器中的元素,这类参数不能只验证参数对象本身
+	 */
+	private static boolean isContainer(Class<?> type) {
+		return type.isArray() || Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+			|| Optional.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * 泛型参数或数组元素上的约束(如List<@NotNull Long>)
+	 */
+	private static boolean hasTypeArgumentConstraints(AnnotatedType type) {
+		if (type instanceof AnnotatedParameterizedType) {
+			for (AnnotatedType argument : ((AnnotatedParameterizedType) type).getAnnotatedActualTypeArguments()) {
+				if (argument.getAnnotations().length != 0 || hasTypeArgumentConstraints(argument)) {
+					return true;
+				}
+			}
+		} else if (type instanceof AnnotatedArrayType) {
+			AnnotatedType component = ((AnnotatedArrayType) type).getAnnotatedGenericComponentType();
+			return component.getAnnotations().length != 0 || hasTypeArgumentConstraints(component);
+		}
+		return false;
+	}
+
+	/**
+	 * 父类或接口中的同签名方法是否声明了参数约束或级联验证
+	 */
+	private static boolean hasInheritedConstraints(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		List<Class<?>> types = new ArrayList<>(ClassUtils.getAllInterfacesForClassAsSet(declaringClass));
+		for (Class<?> klass = declaringClass.getSuperclass(); klass != null && klass != Object.class; klass = klass
+			.getSuperclass()) {
+			types.add(klass);
+		}
+		for (Class<?> type : types) {
+			Method overridden;
+			try {
+				overridden = type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+			if (ConstraintChecks.hasConstraint(overridden.getAnnotations())) {
+				return true;
+			}
+			for (Annotation[] annotations : overridden.getParameterAnnotations()) {
+				for (Annotation annotation : annotations) {
+					if (annotation instanceof Valid || ConstraintChecks.isConstraint(annotation)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,9 @@
+/**
+ * 本包提供方法参数验证AOP使用的检查器实现，检查逻辑在运行时构建并缓存。<br>
+ * 1.ParameterChecker在切面匹配时预先构建每个方法的参数检查逻辑，复杂约束回退到hibernate-validator。<br>
+ * 2.BeanChecker为@Valid级联验证的参数对象类型构建属性检查逻辑，与hibernate-validator一样通过反射读取字段。<br>
+ * 3.ConstraintChecks只处理@NotNull、@NotEmpty、@NotBlank和@LegalEnum，其他约束回退到hibernate-validator。<br>
+ * @author Frodez
+ * @date 2019-05-26
+ */
+package frodez.config.aop.validation.checker;
@@ -26,11 +26,21 @@ public class CacheProperties {
 	 */
 	private AutoGuavaCheckerProperties autoGuavaChecker = new AutoGuavaCheckerProperties();
 
+	/**
+	 * AutoWheelChecker配置
+	 */
+	private AutoWheelCheckerProperties autoWheelChecker = new AutoWheelCheckerProperties();
+
 	/**
 	 * ManualGuavaChecker配置
 	 */
 	private ManualGuavaCheckerProperties manualGuavaChecker = new ManualGuavaCheckerProperties();
 
+	/**
+	 * ManualStripedChecker配置
+	 */
+	private ManualStripedCheckerProperties manualStripedChecker = new ManualStripedCheckerProperties();
+
 	/**
 	 * LimitUserGuavaChecker配置
 	 */
@@ -41,6 +51,11 @@ public class CacheProperties {
 	 */
 	private URLMatcherProperties urlMatcher = new URLMatcherProperties();
 
+	/**
+	 * 分页查询总数缓存配置
+	 */
+	private CountCacheProperties countCache = new CountCacheProperties();
+
 	@Data
 	public static class StandardProperties {
 
@@ -61,6 +76,31 @@ public class CacheProperties {
 
 	}
 
+	@Data
+	public static class AutoWheelCheckerProperties {
+
+		/**
+		 * 分段数
+		 */
+		private Integer concurrency = 64;
+
+		/**
+		 * 每段初始容量
+		 */
+		private Integer initialCapacity = 1024;
+
+		/**
+		 * 时间轮刻度,单位毫秒
+		 */
+		private Integer tick = 100;
+
+		/**
+		 * 时间轮槽数
+		 */
+		private Integer wheelSize = 512;
+
+	}
+
 	@Data
 	public static class ManualGuavaCheckerProperties {
 
@@ -71,6 +111,26 @@ public class CacheProperties {
 
 	}
 
+	@Data
+	public static class ManualStripedCheckerProperties {
+
+		/**
+		 * 超时时间,单位毫秒
+		 */
+		private Integer timeout = 60000;
+
+		/**
+		 * 分段数
+		 */
+		private Integer concurrency = 64;
+
+		/**
+		 * 每段初始容量
+		 */
+		private Integer initialCapacity = 256;
+
+	}
+
 	@Data
 	public static class LimitUserGuavaCheckerProperties {
 
@@ -96,4 +156,24 @@ public class CacheProperties {
 
 	}
 
+	@Data
+	public static class CountCacheProperties {
+
+		/**
+		 * 超时时间,单位毫秒
+		 */
+		private Integer timeout = 60000;
+
+		/**
+		 * 缓存最大容量
+		 */
+		private Integer maxSize = 1024;
+
+		/**
+		 * 近似总数阈值。单表无条件查询时,表统计信息中的行数超过该值则直接使用统计信息作为总数,小于等于0时不使用
+		 */
+		private Long approximateThreshold = 0L;
+
+	}
+
 }
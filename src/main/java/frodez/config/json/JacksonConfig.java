@@ -0,0 +1,30 @@
+package frodez.config.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * jackson配置<br>
+ * springboot会将容器中的Module注册到自动配置的ObjectMapper中,JSONUtil(包括smile)、JsonConverer和RedisConfig均使用该ObjectMapper。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Configuration
+public class JacksonConfig {
+
+	/**
+	 * afterburner模块,在运行时生成字节码代替反射进行属性读写和对象构造<br>
+	 * 配置jackson.afterburner=true时开启,默认关闭。
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "jackson", name = "afterburner", havingValue = "true")
+	public Module afterburnerModule() {
+		return new AfterburnerModule();
+	}
+
+}
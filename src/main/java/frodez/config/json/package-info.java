@@ -0,0 +1,7 @@
+/**
+ * 本包用于管理jackson相关配置。<br>
+ * 1.JacksonConfig提供可选的afterburner模块，开启后JSONUtil、JsonConverer、RedisConfig等使用的ObjectMapper均通过生成的字节码读写属性。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+package frodez.config.json;
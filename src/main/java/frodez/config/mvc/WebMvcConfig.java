@@ -4,6 +4,7 @@ import com.google.common.escape.Escaper;
 import com.google.common.html.HtmlEscapers;
 import frodez.config.mvc.async.AsyncConfig;
 import frodez.config.mvc.converter.JsonConverer;
+import frodez.config.mvc.converter.SmileConverter;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
 			return iter instanceof AbstractJackson2HttpMessageConverter;
 		});
 		converters.add(0, new JsonConverer(MediaType.APPLICATION_JSON_UTF8));
+		//内部服务间调用使用smile,位于json之后,因此只在请求头明确要求时生效
+		converters.add(1, new SmileConverter());
 	}
 
 	/**
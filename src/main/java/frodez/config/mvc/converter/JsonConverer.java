@@ -1,17 +1,19 @@
 package frodez.config.mvc.converter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
-import com.google.common.html.HtmlEscapers;
 import frodez.util.beans.result.Result;
+import frodez.util.beans.result.ResultWriter;
 import frodez.util.common.StrUtil;
 import frodez.util.constant.setting.DefCharset;
+import frodez.util.json.HtmlCharacterEscapes;
 import frodez.util.json.JSONUtil;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Map;
@@ -28,7 +30,8 @@ import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.lang.Nullable;
 
 /**
- * 自定义jacksonHttpMessageConverter
+ * 自定义jacksonHttpMessageConverter<br>
+ * 输出时直接将json以UTF-8写入响应流,html字符在写入字符串值时由HtmlCharacterEscapes转义,不再生成中间字符串。<br>
  * @author Frodez
  * @date 2019-03-14
  */
@@ -40,11 +43,25 @@ public class JsonConverer extends AbstractGenericHttpMessageConverter<Object> {
 
 	private Map<Class<?>, Boolean> serializeCache = new ConcurrentHashMap<>();
 
+	/**
+	 * 输出用的writer缓存,writer会转义html字符,且写入完毕后不关闭响应流
+	 */
+	private Map<Class<?>, ObjectWriter> writerCache = new ConcurrentHashMap<>();
+
 	public JsonConverer(MediaType... supportedMediaTypes) {
 		setDefaultCharset(DefCharset.UTF_8_CHARSET);
 		setSupportedMediaTypes(Arrays.asList(supportedMediaTypes));
 	}
 
+	/**
+	 * 判断能否读写时使用的ObjectMapper
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	protected ObjectMapper mapper() {
+		return JSONUtil.mapper();
+	}
+
 	@Override
 	public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
 		return canRead(clazz, null, mediaType);
@@ -65,10 +82,10 @@ public class JsonConverer extends AbstractGenericHttpMessageConverter<Object> {
 		if (cacheResult != null) {
 			return cacheResult;
 		}
-		JavaType javaType = JSONUtil.mapper().getTypeFactory().constructType(GenericTypeResolver.resolveType(type,
+		JavaType javaType = mapper().getTypeFactory().constructType(GenericTypeResolver.resolveType(type,
 			contextClass));
 		AtomicReference<Throwable> causeRef = new AtomicReference<>();
-		cacheResult = JSONUtil.mapper().canDeserialize(javaType, causeRef);
+		cacheResult = mapper().canDeserialize(javaType, causeRef);
 		logWarningIfNecessary(javaType, causeRef.get());
 		if (hasContextClass) {
 			contextDeserializeCache.put(StrUtil.concat(type.getTypeName(), contextClass.getName()), cacheResult);
@@ -88,7 +105,7 @@ public class JsonConverer extends AbstractGenericHttpMessageConverter<Object> {
 			return cacheResult;
 		}
 		AtomicReference<Throwable> causeRef = new AtomicReference<>();
-		cacheResult = JSONUtil.mapper().canSerialize(clazz, causeRef);
+		cacheResult = mapper().canSerialize(clazz, causeRef);
 		logWarningIfNecessary(clazz, causeRef.get());
 		serializeCache.put(clazz, cacheResult);
 		return cacheResult;
@@ -136,13 +153,17 @@ public class JsonConverer extends AbstractGenericHttpMessageConverter<Object> {
 	protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
 		throws IOException, HttpMessageNotWritableException {
 		try {
-			OutputStream outputStream = outputMessage.getBody();
 			//对通用Result采用特殊的优化过的方式
-			String string = object.getClass() == Result.class ? ((Result) object).json() : JSONUtil.string(object);
-			//在此进行html转义
-			string = HtmlEscapers.htmlEscaper().escape(string);
-			outputStream.write(string.getBytes());
-			outputStream.flush();
+			if (object.getClass() == Result.class) {
+				ResultWriter.write((Result) object, outputMessage.getBody());
+				outputMessage.getBody().flush();
+				return;
+			}
+			ObjectWriter writer = writerCache.computeIfAbsent(object.getClass(), (klass) -> JSONUtil.mapper().writerFor(
+				klass).with(HtmlCharacterEscapes.instance()).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+			//jackson直接以UTF-8编码写入响应流,并在写入时进行html转义
+			writer.writeValue(outputMessage.getBody(), object);
+			outputMessage.getBody().flush();
 		} catch (InvalidDefinitionException ex) {
 			throw new HttpMessageConversionException(StrUtil.concat("Type definition error: ", ex.getType().toString()),
 				ex);
@@ -0,0 +1,72 @@
+package frodez.config.mvc.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import frodez.util.common.StrUtil;
+import frodez.util.json.JSONUtil;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+/**
+ * smile(二进制json)格式的HttpMessageConverter<br>
+ * 供内部服务间调用使用,请求头的Accept或Content-Type为application/x-jackson-smile时生效,浏览器仍使用json。<br>
+ * 使用JSONUtil中与json配置相同的smile ObjectMapper,以及其reader和writer缓存。<br>
+ * smile为二进制格式,不会被浏览器渲染,因此不做html转义。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+public class SmileConverter extends JsonConverer {
+
+	/**
+	 * smile媒体类型
+	 */
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+	public SmileConverter() {
+		super(APPLICATION_SMILE);
+		//二进制格式没有字符集
+		setDefaultCharset(null);
+	}
+
+	@Override
+	protected ObjectMapper mapper() {
+		return JSONUtil.smileMapper();
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException,
+		HttpMessageNotReadableException {
+		return JSONUtil.smile(inputMessage.getBody(), clazz);
+	}
+
+	@Override
+	public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException,
+		HttpMessageNotReadableException {
+		return JSONUtil.smile(inputMessage.getBody(), GenericTypeResolver.resolveType(type, contextClass));
+	}
+
+	@Override
+	protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+		throws IOException, HttpMessageNotWritableException {
+		try {
+			JSONUtil.smile(object, outputMessage.getBody());
+			outputMessage.getBody().flush();
+		} catch (InvalidDefinitionException ex) {
+			throw new HttpMessageConversionException(StrUtil.concat("Type definition error: ", ex.getType().toString()),
+				ex);
+		} catch (JsonProcessingException ex) {
+			throw new HttpMessageNotWritableException(StrUtil.concat("Could not write Smile: ", ex.getOriginalMessage()),
+				ex);
+		}
+	}
+
+}
@@ -1,6 +1,6 @@
 /**
  * 本包用于配置springmvc。<br>
- * 配置包括自定义的错误处理和错误兜底，自定义的状态码转换，自定义的json转换和html转义，自定义的异步处理。
+ * 配置包括自定义的错误处理和错误兜底，自定义的状态码转换，自定义的json转换和html转义，自定义的异步处理，过载保护。
  * @author Frodez
  * @date 2019-03-11
  */
@@ -0,0 +1,267 @@
+package frodez.config.mvc.shed;
+
+import frodez.util.beans.result.Result;
+import frodez.util.http.ServletUtil;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * 过载保护过滤器<br>
+ * 排队时延取自undertow记录的请求开始时间,即请求从被接收到进入过滤器的时间。<br>
+ * 与CoDel相同,以一个观察周期内的最小排队时延判断是否过载:只要周期内有请求没有排队,就说明队列能够及时清空。<br>
+ * 各优先级允许的最大排队时延如下,超过即丢弃:<br>
+ * 1.未过载时,低优先级为观察周期,其他优先级不限。<br>
+ * 2.过载时,低优先级为目标时延,普通优先级为观察周期,高优先级不限。<br>
+ * @author Frodez
+ * @date 2019-05-21
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadShedFilter extends OncePerRequestFilter {
+
+	@Autowired
+	private ShedProperties properties;
+
+	private PathMatcher matcher = new AntPathMatcher();
+
+	private UrlPathHelper pathHelper = new UrlPathHelper();
+
+	/**
+	 * 目标排队时延,单位纳秒
+	 */
+	private long target;
+
+	/**
+	 * 观察周期,单位纳秒
+	 */
+	private long interval;
+
+	/**
+	 * 当前周期内的最小排队时延
+	 */
+	private AtomicLong minDelay = new AtomicLong(Long.MAX_VALUE);
+
+	/**
+	 * 当前周期的结束时间
+	 */
+	private AtomicLong intervalEnd = new AtomicLong(System.nanoTime());
+
+	/**
+	 * 是否处于过载状态
+	 */
+	private volatile boolean overloaded = false;
+
+	/**
+	 * 各优先级通过数
+	 */
+	private Map<Priority, LongAdder> admitted = new EnumMap<>(Priority.class);
+
+	/**
+	 * 各优先级丢弃数
+	 */
+	private Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+
+	@PostConstruct
+	private void init() {
+		target = TimeUnit.MILLISECONDS.toNanos(properties.getTarget());
+		interval = TimeUnit.MILLISECONDS.toNanos(properties.getInterval());
+		for (Priority priority : Priority.values()) {
+			admitted.put(priority, new LongAdder());
+			shed.put(priority, new LongAdder());
+		}
+		log.info("load shed filter is {}, target-{}ms, interval-{}ms", properties.isEnable() ? "enabled"
+			: "disabled", properties.getTarget(), properties.getInterval());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+		throws ServletException, IOException {
+		if (!properties.isEnable()) {
+			chain.doFilter(request, response);
+			return;
+		}
+		Priority priority = priority(request);
+		long delay = delay();
+		if (delay >= 0 && delay > budget(priority, observe(delay))) {
+			shed.get(priority).increment();
+			ServletUtil.writeJson(response, Result.busy());
+			return;
+		}
+		admitted.get(priority).increment();
+		chain.doFilter(request, response);
+	}
+
+	/**
+	 * 获取当前状态
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	public Status status() {
+		Map<Priority, Long> admittedCount = new EnumMap<>(Priority.class);
+		Map<Priority, Long> shedCount = new EnumMap<>(Priority.class);
+		for (Priority priority : Priority.values()) {
+			admittedCount.put(priority, admitted.get(priority).sum());
+			shedCount.put(priority, shed.get(priority).sum());
+		}
+		return new Status(properties.isEnable(), overloaded, admittedCount, shedCount);
+	}
+
+	/**
+	 * 判断请求优先级
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	private Priority priority(HttpServletRequest request) {
+		String path = pathHelper.getPathWithinApplication(request);
+		for (String pattern : properties.getHighPriorityPath()) {
+			if (matcher.match(pattern, path)) {
+				return Priority.HIGH;
+			}
+		}
+		if (properties.getLowPriorityMethod().contains(request.getMethod())) {
+			return Priority.LOW;
+		}
+		return Priority.NORMAL;
+	}
+
+	/**
+	 * 获取请求排队时延,单位纳秒。无法获取时返回-1
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	private long delay() {
+		ServletRequestContext context = ServletRequestContext.current();
+		if (context == null) {
+			return -1;
+		}
+		long start = context.getExchange().getRequestStartTime();
+		if (start < 0) {
+			return -1;
+		}
+		return Math.max(0, System.nanoTime() - start);
+	}
+
+	/**
+	 * 记录排队时延,并返回当前是否处于过载状态
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	private boolean observe(long delay) {
+		if (delay < minDelay.get()) {
+			minDelay.accumulateAndGet(delay, Math::min);
+		}
+		long now = System.nanoTime();
+		long end = intervalEnd.get();
+		if (now - end >= 0 && intervalEnd.compareAndSet(end, now + interval)) {
+			//周期结束,只有一个线程能进入这里
+			long min = minDelay.getAndSet(Long.MAX_VALUE);
+			boolean next = min != Long.MAX_VALUE && min > target;
+			if (next != overloaded) {
+				overloaded = next;
+				log.warn("load shed filter {} overloaded state, min queueing delay in last interval is {}ms", next
+					? "enters" : "leaves", TimeUnit.NANOSECONDS.toMillis(min));
+			}
+		}
+		return overloaded;
+	}
+
+	/**
+	 * 获取该优先级允许的最大排队时延,单位纳秒
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	private long budget(Priority priority, boolean isOverloaded) {
+		switch (priority) {
+			case LOW : {
+				return isOverloaded ? target : interval;
+			}
+			case NORMAL : {
+				return isOverloaded ? interval : Long.MAX_VALUE;
+			}
+			default : {
+				return Long.MAX_VALUE;
+			}
+		}
+	}
+
+	/**
+	 * 请求优先级
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	public enum Priority {
+
+		/**
+		 * 高优先级,登录及管理类端点
+		 */
+		HIGH,
+		/**
+		 * 普通优先级,写请求
+		 */
+		NORMAL,
+		/**
+		 * 低优先级,读请求
+		 */
+		LOW;
+
+	}
+
+	/**
+	 * 过载保护状态
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 是否开启
+		 */
+		private boolean enable;
+
+		/**
+		 * 是否处于过载状态
+		 */
+		private boolean overloaded;
+
+		/**
+		 * 各优先级通过数
+		 */
+		private Map<Priority, Long> admitted;
+
+		/**
+		 * 各优先级丢弃数
+		 */
+		private Map<Priority, Long> shed;
+
+	}
+
+}
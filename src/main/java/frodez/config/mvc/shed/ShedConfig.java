@@ -0,0 +1,28 @@
+package frodez.config.mvc.shed;
+
+import io.undertow.UndertowOptions;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 过载保护配置
+ * @author Frodez
+ * @date 2019-05-21
+ */
+@Configuration
+public class ShedConfig {
+
+	/**
+	 * 令undertow记录请求开始时间,用于计算请求在工作线程队列中的排队时延
+	 * @author Frodez
+	 * @date 2019-05-21
+	 */
+	@Bean
+	public WebServerFactoryCustomizer<UndertowServletWebServerFactory> requestStartTimeCustomizer() {
+		return factory -> factory.addBuilderCustomizers(builder -> builder.setServerOption(
+			UndertowOptions.RECORD_REQUEST_START_TIME, true));
+	}
+
+}
@@ -0,0 +1,46 @@
+package frodez.config.mvc.shed;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 过载保护配置
+ * @author Frodez
+ * @date 2019-05-21
+ */
+@Data
+@Component
+@PropertySource(value = { "classpath:settings/${spring.profiles.active}/shed.properties" })
+@ConfigurationProperties(prefix = "shed")
+public class ShedProperties {
+
+	/**
+	 * 是否开启过载保护,默认开启
+	 */
+	private boolean enable = true;
+
+	/**
+	 * 目标排队时延,单位毫秒。一个观察周期内的最小排队时延超过该值即视为过载,默认值5
+	 */
+	private long target = 5;
+
+	/**
+	 * 观察周期,单位毫秒。未过载时低优先级请求的最大排队时延也为该值,默认值100
+	 */
+	private long interval = 100;
+
+	/**
+	 * 高优先级路径(登录及管理类端点),基于ant风格匹配,不包含项目根路径
+	 */
+	private List<String> highPriorityPath = new ArrayList<>();
+
+	/**
+	 * 低优先级请求方法(读请求)
+	 */
+	private List<String> lowPriorityMethod = new ArrayList<>();
+
+}
@@ -0,0 +1,8 @@
+/**
+ * 本包用于配置过载保护。<br>
+ * 过载保护过滤器位于所有过滤器(包括spring security过滤器链)之前,以CoDel的方式观察请求的排队时延,<br>
+ * 过载时按照优先级从低到高丢弃请求,被丢弃的请求直接返回服务器繁忙。<br>
+ * @author Frodez
+ * @date 2019-05-21
+ */
+package frodez.config.mvc.shed;
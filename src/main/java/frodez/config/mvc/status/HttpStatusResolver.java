@@ -36,6 +36,10 @@ public class HttpStatusResolver implements ResponseBodyAdvice<Result> {
 	public Result beforeBodyWrite(Result body, MethodParameter returnType, MediaType selectedContentType, Class<
 		? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
 		ServerHttpResponse response) {
+		//条件请求返回304时没有返回值
+		if (body == null) {
+			return null;
+		}
 		response.setStatusCode(body.httpStatus());
 		return body;
 	}
@@ -0,0 +1,24 @@
+package frodez.config.mybatis;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量写入配置
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Data
+@Component
+@PropertySource(value = { "classpath:settings/${spring.profiles.active}/batch.properties" })
+@ConfigurationProperties(prefix = "batch")
+public class BatchProperties {
+
+	/**
+	 * 每批的行数,每批结束后执行一次flush,默认值500
+	 */
+	private int chunkSize = 500;
+
+}
@@ -0,0 +1,213 @@
+package frodez.config.mybatis;
+
+import frodez.util.common.StrUtil;
+import java.io.Serializable;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * 批量写入工具<br>
+ * 替代insertList等单条多值语句:数据按batch.chunk-size分批,使用mybatis的BATCH执行器执行mapper的单行语句,每批结束后flush一次。<br>
+ * 数据源开启rewriteBatchedStatements后,mysql驱动会将每批合并为不超过max_allowed_packet的多值语句。<br>
+ * 执行器的连接通过SpringManagedTransaction获取,存在事务时使用当前事务的连接,提交和回滚由事务决定。<br>
+ * 当前事务中已存在的普通SqlSession无法切换执行器类型,因此这里单独创建BATCH执行器,完成后清空普通SqlSession的一级缓存。<br>
+ * 执行器同样经过mybatis的拦截器,CountCacheInterceptor会使对应mapper的总数缓存失效。
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Slf4j
+@Component
+public class BatchWriter {
+
+	@Autowired
+	private BatchProperties batchProperties;
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	private SqlSessionTemplate sqlSessionTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final LongAdder calls = new LongAdder();
+
+	private final LongAdder rows = new LongAdder();
+
+	private final LongAdder flushes = new LongAdder();
+
+	private final LongAdder nanos = new LongAdder();
+
+	/**
+	 * 批量插入,使用mapper的insert语句
+	 * @param mapper mapper
+	 * @param entities 实体
+	 * @return 影响行数
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public <T> int insert(DataMapper<T> mapper, Collection<T> entities) {
+		return execute(mapper, "insert", entities);
+	}
+
+	/**
+	 * 按主键批量删除,使用mapper的deleteByPrimaryKey语句
+	 * @param mapper mapper
+	 * @param ids 主键
+	 * @return 影响行数
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public int deleteByIds(DataMapper<?> mapper, Collection<?> ids) {
+		return execute(mapper, "deleteByPrimaryKey", ids);
+	}
+
+	/**
+	 * 批量执行mapper的写入语句,每个参数执行一次
+	 * @param mapper mapper
+	 * @param method mapper中的方法名,如insert,insertSelective,updateByPrimaryKeySelective
+	 * @param params 参数
+	 * @return 影响行数
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public int execute(DataMapper<?> mapper, String method, Collection<?> params) {
+		Assert.notNull(mapper, "mapper must not be null");
+		Assert.notNull(method, "method must not be null");
+		Assert.notNull(params, "params must not be null");
+		if (params.isEmpty()) {
+			return 0;
+		}
+		String statement = StrUtil.concat(CountCache.mapperInterface(mapper).getName(), ".", method);
+		int chunkSize = Math.max(batchProperties.getChunkSize(), 1);
+		long start = System.nanoTime();
+		int affected = 0;
+		int count = 0;
+		Configuration configuration = sqlSessionFactory.getConfiguration();
+		Executor executor = configuration.newExecutor(new SpringManagedTransaction(dataSource), ExecutorType.BATCH);
+		try (SqlSession session = new DefaultSqlSession(configuration, executor, false)) {
+			int pending = 0;
+			for (Object param : params) {
+				session.update(statement, param);
+				if (++pending == chunkSize) {
+					affected += affected(session.flushStatements());
+					pending = 0;
+					count++;
+				}
+			}
+			if (pending != 0) {
+				affected += affected(session.flushStatements());
+				count++;
+			}
+			//存在事务时不会真正提交
+			session.commit();
+		} catch (PersistenceException e) {
+			DataAccessException exception = sqlSessionTemplate.getPersistenceExceptionTranslator()
+				.translateExceptionIfPossible(e);
+			throw exception != null ? exception : e;
+		} finally {
+			//普通SqlSession中缓存的查询结果已过期
+			sqlSessionTemplate.clearCache();
+		}
+		long duration = System.nanoTime() - start;
+		calls.increment();
+		rows.add(params.size());
+		flushes.add(count);
+		nanos.add(duration);
+		if (log.isDebugEnabled()) {
+			log.debug("{} 批量写入{}行,分{}批,耗时{}毫秒,{}行/秒", statement, params.size(), count, TimeUnit.NANOSECONDS
+				.toMillis(duration), rowsPerSecond(params.size(), duration));
+		}
+		return affected;
+	}
+
+	private int affected(List<BatchResult> results) {
+		int affected = 0;
+		for (BatchResult result : results) {
+			for (int item : result.getUpdateCounts()) {
+				//驱动合并语句后可能不返回每行的结果,视为写入一行
+				affected += item == Statement.SUCCESS_NO_INFO ? 1 : Math.max(item, 0);
+			}
+		}
+		return affected;
+	}
+
+	private static long rowsPerSecond(long rows, long nanos) {
+		return nanos == 0 ? 0 : rows * TimeUnit.SECONDS.toNanos(1) / nanos;
+	}
+
+	/**
+	 * 获取批量写入状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public Status status() {
+		long rowsSum = rows.sum();
+		long nanosSum = nanos.sum();
+		return new Status(calls.sum(), rowsSum, flushes.sum(), TimeUnit.NANOSECONDS.toMillis(nanosSum), rowsPerSecond(
+			rowsSum, nanosSum));
+	}
+
+	/**
+	 * 批量写入状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 批量写入次数
+		 */
+		private long calls;
+
+		/**
+		 * 写入行数
+		 */
+		private long rows;
+
+		/**
+		 * flush次数
+		 */
+		private long flushes;
+
+		/**
+		 * 总耗时,单位毫秒
+		 */
+		private long time;
+
+		/**
+		 * 平均每秒写入行数
+		 */
+		private long rowsPerSecond;
+
+	}
+
+}
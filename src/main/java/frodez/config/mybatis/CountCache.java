@@ -0,0 +1,315 @@
+package frodez.config.mybatis;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import frodez.config.cache.CacheProperties;
+import frodez.config.cache.CacheProperties.CountCacheProperties;
+import frodez.util.constant.setting.DefTime;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import tk.mybatis.mapper.mapperhelper.EntityHelper;
+
+/**
+ * 分页查询总数缓存<br>
+ * key为查询语句和查询条件,同时记录查询依赖的mapper。<br>
+ * 每个mapper有一个写入代数,CountCacheInterceptor在mapper执行写入语句时递增,存在事务时在事务结束后再次递增。<br>
+ * 事务中写入过的mapper记录在绑定到事务的集合中,每个事务只注册一次事务同步,事务结束后每个mapper只递增一次。<br>
+ * 缓存的总数记录了加载前依赖mapper的代数,代数变化后缓存即失效,因此写入后不会读到旧的总数。<br>
+ * 近似模式:单表无条件查询时,若表统计信息(information_schema.TABLES.TABLE_ROWS)中的行数超过阈值,则直接使用该行数作为总数,不再执行COUNT。<br>
+ * 统计信息为估算值,仅适用于对总数精度不敏感的大表。
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Component
+public class CountCache {
+
+	private static final String TABLE_ROWS_SQL =
+		"SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+	@Autowired
+	private CacheProperties cacheProperties;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * mapper的写入代数,key为mapper的namespace
+	 */
+	private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+	private Cache<Key, Entry> cache;
+
+	private long approximateThreshold;
+
+	private final LongAdder hit = new LongAdder();
+
+	private final LongAdder miss = new LongAdder();
+
+	private final LongAdder approximate = new LongAdder();
+
+	@PostConstruct
+	private void init() {
+		CountCacheProperties properties = cacheProperties.getCountCache();
+		cache = CacheBuilder.newBuilder().expireAfterWrite(properties.getTimeout(), DefTime.UNIT).maximumSize(
+			properties.getMaxSize()).build();
+		approximateThreshold = properties.getApproximateThreshold();
+		Assert.notNull(cache, "cache must not be null");
+	}
+
+	/**
+	 * 获取总数
+	 * @param key 查询语句,查询条件及依赖的mapper
+	 * @param loader 执行COUNT查询
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public long count(Key key, LongSupplier loader) {
+		Assert.notNull(key, "key must not be null");
+		Assert.notNull(loader, "loader must not be null");
+		long[] current = generations(key.namespaces);
+		Entry entry = cache.getIfPresent(key);
+		if (entry != null && Arrays.equals(entry.generations, current)) {
+			hit.increment();
+			return entry.count;
+		}
+		miss.increment();
+		//使用加载前的代数,加载期间发生的写入会使本次结果失效
+		long count = loader.getAsLong();
+		cache.put(key, new Entry(current, count));
+		return count;
+	}
+
+	/**
+	 * 获取单表无条件查询的总数,表统计信息中的行数超过阈值时使用统计信息
+	 * @param mapperInterface 单表mapper
+	 * @param entityClass 实体类型
+	 * @param loader 执行COUNT查询
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public long count(Class<?> mapperInterface, Class<?> entityClass, LongSupplier loader) {
+		Key key = Key.of(mapperInterface.getName().concat(".selectAll"), null, mapperInterface);
+		if (approximateThreshold <= 0) {
+			return count(key, loader);
+		}
+		return count(key, () -> {
+			Long rows = jdbcTemplate.queryForList(TABLE_ROWS_SQL, Long.class, EntityHelper.getEntityTable(entityClass)
+				.getName()).stream().filter(Objects::nonNull).findFirst().orElse(null);
+			if (rows != null && rows > approximateThreshold) {
+				approximate.increment();
+				return rows;
+			}
+			return loader.getAsLong();
+		});
+	}
+
+	/**
+	 * 递增mapper的写入代数。存在事务时在事务结束后再次递增,防止事务提交前以新代数缓存旧的总数,同一事务中多次调用只在事务结束后递增一次
+	 * @param namespace mapper的namespace
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public void invalidate(String namespace) {
+		increment(namespace);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Set<String> namespaces = (Set<String>) TransactionSynchronizationManager.getResource(this);
+		if (namespaces == null) {
+			namespaces = new HashSet<>();
+			TransactionSynchronizationManager.bindResource(this, namespaces);
+			TransactionSynchronizationManager.registerSynchronization(new Synchronization(namespaces));
+		}
+		namespaces.add(namespace);
+	}
+
+	void increment(String namespace) {
+		generations.computeIfAbsent(namespace, (k) -> new AtomicLong()).incrementAndGet();
+	}
+
+	private long[] generations(String[] namespaces) {
+		long[] result = new long[namespaces.length];
+		for (int i = 0; i < namespaces.length; i++) {
+			result[i] = generations.computeIfAbsent(namespaces[i], (k) -> new AtomicLong()).get();
+		}
+		return result;
+	}
+
+	/**
+	 * 获取mapper对象(mybatis生成的代理)对应的mapper接口
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static Class<?> mapperInterface(Object mapper) {
+		for (Class<?> klass : ClassUtils.getAllInterfacesForClassAsSet(mapper.getClass())) {
+			if (klass != DataMapper.class && DataMapper.class.isAssignableFrom(klass)) {
+				return klass;
+			}
+		}
+		throw new IllegalArgumentException("mapper must implement DataMapper");
+	}
+
+	/**
+	 * 获取缓存状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public Status status() {
+		return new Status(cache.size(), hit.sum(), miss.sum(), approximate.sum());
+	}
+
+	/**
+	 * 缓存key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static final class Key {
+
+		private final String statement;
+
+		private final Object criteria;
+
+		private final String[] namespaces;
+
+		private Key(String statement, Object criteria, String[] namespaces) {
+			this.statement = statement;
+			this.criteria = criteria;
+			this.namespaces = namespaces;
+		}
+
+		/**
+		 * 生成key
+		 * @param statement 查询语句
+		 * @param criteria 查询条件,需正确实现equals和hashCode
+		 * @param mappers 查询依赖的mapper接口,其中任意一个发生写入后缓存失效
+		 * @author Frodez
+		 * @date 2019-05-27
+		 */
+		public static Key of(String statement, Object criteria, Class<?>... mappers) {
+			Assert.notNull(statement, "statement must not be null");
+			Assert.notEmpty(mappers, "mappers must not be empty");
+			String[] namespaces = new String[mappers.length];
+			for (int i = 0; i < mappers.length; i++) {
+				namespaces[i] = mappers[i].getName();
+			}
+			return new Key(statement, criteria, namespaces);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return statement.equals(other.statement) && Objects.equals(criteria, other.criteria);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * statement.hashCode() + Objects.hashCode(criteria);
+		}
+
+	}
+
+	/**
+	 * 事务同步,事务结束后递增事务中写入过的mapper的代数
+	 */
+	private final class Synchronization extends TransactionSynchronizationAdapter {
+
+		private final Set<String> namespaces;
+
+		private Synchronization(Set<String> namespaces) {
+			this.namespaces = namespaces;
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResourceIfPossible(CountCache.this);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(CountCache.this, namespaces);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(CountCache.this);
+			for (String namespace : namespaces) {
+				increment(namespace);
+			}
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final long[] generations;
+
+		private final long count;
+
+		private Entry(long[] generations, long count) {
+			this.generations = generations;
+			this.count = count;
+		}
+
+	}
+
+	/**
+	 * 总数缓存状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 缓存数量
+		 */
+		private long size;
+
+		/**
+		 * 命中次数
+		 */
+		private long hit;
+
+		/**
+		 * 未命中次数
+		 */
+		private long miss;
+
+		/**
+		 * 使用统计信息作为总数的次数
+		 */
+		private long approximate;
+
+	}
+
+}
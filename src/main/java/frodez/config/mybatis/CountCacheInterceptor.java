@@ -0,0 +1,49 @@
+package frodez.config.mybatis;
+
+import java.util.Properties;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 总数缓存失效拦截器<br>
+ * 拦截所有写入语句(insert,update,delete),在执行前后递增语句所属mapper的写入代数,使依赖该mapper的总数缓存失效。
+ * @see frodez.config.mybatis.CountCache
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Component
+@Intercepts({ @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class CountCacheInterceptor implements Interceptor {
+
+	@Autowired
+	private CountCache countCache;
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+		String namespace = id.substring(0, id.lastIndexOf('.'));
+		countCache.increment(namespace);
+		try {
+			return invocation.proceed();
+		} finally {
+			countCache.invalidate(namespace);
+		}
+	}
+
+	@Override
+	public Object plugin(Object target) {
+		return Plugin.wrap(target, this);
+	}
+
+	@Override
+	public void setProperties(Properties properties) {
+	}
+
+}
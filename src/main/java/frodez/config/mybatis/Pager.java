@@ -0,0 +1,120 @@
+package frodez.config.mybatis;
+
+import com.github.pagehelper.Page;
+import com.github.pagehelper.PageHelper;
+import frodez.util.beans.param.QueryPage;
+import frodez.util.beans.result.PageData;
+import frodez.util.constant.setting.DefPage;
+import frodez.util.spring.ContextUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import tk.mybatis.mapper.entity.Example;
+
+/**
+ * 分页查询工具<br>
+ * 根据QueryPage选择普通分页(pagehelper的OFFSET/LIMIT)或游标分页(id > lastId LIMIT n),并按需查询总数。<br>
+ * 总数查询与数据查询分开执行,可以通过CountCache缓存,不必每次翻页都执行COUNT。<br>
+ * 游标分页多查询一条数据,用于判断是否存在下一页。
+ * @see frodez.util.beans.param.QueryPage
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@UtilityClass
+public class Pager {
+
+	/**
+	 * 游标分页所用的id属性名
+	 */
+	private static final String ID = "id";
+
+	/**
+	 * 分页查询单表,总数使用CountCache缓存,大表可使用表统计信息作为近似总数
+	 * @param param 分页参数
+	 * @param mapper 单表mapper
+	 * @param klass 实体类型
+	 * @param id 获取实体的id
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static <T> PageData<T> page(QueryPage param, DataMapper<T> mapper, Class<T> klass, ToLongFunction<T> id) {
+		Assert.notNull(mapper, "mapper must not be null");
+		Assert.notNull(klass, "klass must not be null");
+		Supplier<List<T>> all = mapper::selectAll;
+		Class<?> mapperInterface = CountCache.mapperInterface(mapper);
+		return page(param, all, (lastId) -> {
+			Example example = new Example(klass);
+			if (lastId != null) {
+				example.createCriteria().andGreaterThan(ID, lastId);
+			}
+			example.orderBy(ID).asc();
+			return mapper.selectByExample(example);
+		}, id, () -> countCache().count(mapperInterface, klass, () -> PageHelper.count(all::get)));
+	}
+
+	/**
+	 * 分页查询
+	 * @param param 分页参数
+	 * @param key 总数缓存的key,为null时不缓存总数
+	 * @param all 查询全部数据,用于普通分页和查询总数
+	 * @param seek 游标分页查询,参数为上一页最后一条数据的id(首页为null),结果必须只包含id大于该值的数据,且按id升序排列
+	 * @param id 获取数据的id
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static <T> PageData<T> page(QueryPage param, @Nullable CountCache.Key key, Supplier<List<T>> all,
+		Function<Long, List<T>> seek, ToLongFunction<T> id) {
+		Assert.notNull(all, "all must not be null");
+		LongSupplier count = () -> PageHelper.count(all::get);
+		return page(param, all, seek, id, key == null ? count : () -> countCache().count(key, count));
+	}
+
+	private static <T> PageData<T> page(QueryPage param, Supplier<List<T>> all, Function<Long, List<T>> seek,
+		ToLongFunction<T> id, LongSupplier count) {
+		Assert.notNull(all, "all must not be null");
+		Assert.notNull(seek, "seek must not be null");
+		Assert.notNull(id, "id must not be null");
+		QueryPage page = QueryPage.resonable(param);
+		if (!page.isSeek()) {
+			Page<T> result = PageHelper.startPage(page.getPageNum(), page.getPageSize(), false).doSelectPage(all::get);
+			long total = page.isNeedCount() ? count.getAsLong() : -1;
+			return new PageData<>(result.getPageNum(), result.getPageSize(), total, result.getResult());
+		}
+		long total = page.isNeedCount() ? count.getAsLong() : -1;
+		int pageSize = page.getPageSize();
+		Long lastId = page.getLastId();
+		List<T> result = PageHelper.startPage(DefPage.PAGE_NUM, pageSize + 1, false).doSelectPage(() -> seek.apply(
+			lastId));
+		return seekPage(result, pageSize, total, id);
+	}
+
+	/**
+	 * 由游标分页的查询结果生成分页数据<br>
+	 * 查询结果应最多包含pageSize + 1条数据,超过pageSize条时说明存在下一页,以本页最后一条数据的id生成nextCursor,否则nextCursor为null。
+	 * @param result 查询结果
+	 * @param pageSize 单页容量
+	 * @param total 总数,未查询时为-1
+	 * @param id 获取数据的id
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static <T> PageData<T> seekPage(List<T> result, int pageSize, long total, ToLongFunction<T> id) {
+		if (result.size() <= pageSize) {
+			return new PageData<>(0, pageSize, total, new ArrayList<>(result), null);
+		}
+		List<T> data = new ArrayList<>(result.subList(0, pageSize));
+		String nextCursor = QueryPage.encodeCursor(id.applyAsLong(data.get(pageSize - 1)));
+		return new PageData<>(0, pageSize, total, data, nextCursor);
+	}
+
+	private static CountCache countCache() {
+		return ContextUtil.get(CountCache.class);
+	}
+
+}
@@ -1,7 +1,10 @@
 /**
  * 本包用于配置tk-mybatis。<br>
  * 这里存放着基础mapper,tk-mybatis使用基础mapper来支持通用sql。<br>
- * 所有的mapper都应继承该mapper。
+ * 所有的mapper都应继承该mapper。<br>
+ * Pager为分页查询工具，支持普通分页和游标分页。<br>
+ * CountCache缓存分页查询的总数，由CountCacheInterceptor在mapper写入时使其失效。<br>
+ * BatchWriter为批量写入工具，分批使用BATCH执行器执行mapper语句。
  * @author Frodez
  * @date 2019-03-11
  */
@@ -0,0 +1,284 @@
+package frodez.config.redis;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import frodez.util.common.StrUtil;
+import frodez.util.constant.setting.DefCharset;
+import frodez.util.json.JSONUtil;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * redis的value序列化器<br>
+ * 二进制格式的第一个字节为格式标记:<br>
+ * 1.String直接使用UTF-8编码。<br>
+ * 2.其他对象使用smile(二进制json)编码,smile会共享重复的属性名,体积比json小且编解码更快。<br>
+ * 3.编码后超过压缩阈值的数据使用lz4压缩,标记中带有压缩标志,标记之后为4字节的原始长度。压缩后没有变小时不压缩。<br>
+ * 格式标记均不是合法json的首字节,没有标记的数据按原有的json格式读取,因此已有的json数据无需迁移,过期或被覆盖后自然转为二进制格式。<br>
+ * 关闭二进制格式时按json写入,但仍可读取二进制格式的数据,用于滚动升级和回退。<br>
+ * 同时统计序列化后的大小和编解码耗时。
+ * @author Frodez
+ * @date 2019-05-27
+ */
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	/**
+	 * smile格式标记
+	 */
+	private static final byte SMILE = 0x01;
+
+	/**
+	 * UTF-8字符串格式标记
+	 */
+	private static final byte STRING = 0x02;
+
+	/**
+	 * lz4压缩标志
+	 */
+	private static final byte LZ4 = 0x10;
+
+	/**
+	 * 压缩数据的头部长度,包括格式标记和原始长度
+	 */
+	private static final int COMPRESSED_HEADER = 5;
+
+	private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+	private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+	/**
+	 * 是否以二进制格式写入
+	 */
+	private final boolean binary;
+
+	/**
+	 * 压缩阈值,单位字节
+	 */
+	private final int compressThreshold;
+
+	private final ObjectWriter smileWriter;
+
+	private final ObjectReader smileReader;
+
+	private final ObjectWriter jsonWriter;
+
+	private final ObjectReader jsonReader;
+
+	private final LongAdder encode = new LongAdder();
+
+	private final LongAdder encodeNanos = new LongAdder();
+
+	private final LongAdder decode = new LongAdder();
+
+	private final LongAdder decodeNanos = new LongAdder();
+
+	private final LongAdder rawSize = new LongAdder();
+
+	private final LongAdder size = new LongAdder();
+
+	private final LongAdder compressed = new LongAdder();
+
+	private final LongAdder legacy = new LongAdder();
+
+	/**
+	 * @param binary 是否以二进制格式写入
+	 * @param compressThreshold 压缩阈值,单位字节,小于等于0时不压缩
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public BinaryRedisSerializer(boolean binary, int compressThreshold) {
+		this.binary = binary;
+		this.compressThreshold = compressThreshold;
+		this.smileWriter = JSONUtil.smileMapper().writer();
+		this.smileReader = JSONUtil.smileMapper().readerFor(Object.class);
+		this.jsonWriter = JSONUtil.mapper().writer();
+		this.jsonReader = JSONUtil.mapper().readerFor(Object.class);
+	}
+
+	@Override
+	public byte[] serialize(@Nullable Object object) throws SerializationException {
+		if (object == null) {
+			return EMPTY;
+		}
+		long start = System.nanoTime();
+		byte[] bytes;
+		try {
+			bytes = binary ? encode(object) : jsonWriter.writeValueAsBytes(object);
+		} catch (IOException e) {
+			throw new SerializationException(StrUtil.concat("Could not write: ", e.getMessage()), e);
+		}
+		encodeNanos.add(System.nanoTime() - start);
+		encode.increment();
+		size.add(bytes.length);
+		return bytes;
+	}
+
+	@Override
+	public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		long start = System.nanoTime();
+		Object object;
+		try {
+			object = decode(bytes);
+		} catch (IOException | RuntimeException e) {
+			throw new SerializationException(StrUtil.concat("Could not read: ", e.getMessage()), e);
+		}
+		decodeNanos.add(System.nanoTime() - start);
+		decode.increment();
+		return object;
+	}
+
+	private byte[] encode(Object object) throws IOException {
+		byte marker;
+		byte[] payload;
+		if (object instanceof String) {
+			marker = STRING;
+			payload = ((String) object).getBytes(DefCharset.UTF_8_CHARSET);
+		} else {
+			marker = SMILE;
+			payload = smileWriter.writeValueAsBytes(object);
+		}
+		rawSize.add(payload.length);
+		if (compressThreshold > 0 && payload.length > compressThreshold) {
+			byte[] bytes = compress(marker, payload);
+			if (bytes != null) {
+				compressed.increment();
+				return bytes;
+			}
+		}
+		byte[] bytes = new byte[payload.length + 1];
+		bytes[0] = marker;
+		System.arraycopy(payload, 0, bytes, 1, payload.length);
+		return bytes;
+	}
+
+	/**
+	 * 压缩,压缩后没有变小时返回null
+	 */
+	private byte[] compress(byte marker, byte[] payload) {
+		int maxLength = COMPRESSOR.maxCompressedLength(payload.length);
+		byte[] buffer = new byte[COMPRESSED_HEADER + maxLength];
+		int length = COMPRESSOR.compress(payload, 0, payload.length, buffer, COMPRESSED_HEADER, maxLength);
+		if (COMPRESSED_HEADER + length > payload.length) {
+			return null;
+		}
+		buffer[0] = (byte) (marker | LZ4);
+		buffer[1] = (byte) (payload.length >>> 24);
+		buffer[2] = (byte) (payload.length >>> 16);
+		buffer[3] = (byte) (payload.length >>> 8);
+		buffer[4] = (byte) payload.length;
+		return Arrays.copyOf(buffer, COMPRESSED_HEADER + length);
+	}
+
+	private Object decode(byte[] bytes) throws IOException {
+		byte marker = bytes[0];
+		if (marker != SMILE && marker != STRING && marker != (SMILE | LZ4) && marker != (STRING | LZ4)) {
+			//没有格式标记,为原有的json数据
+			legacy.increment();
+			return jsonReader.readValue(bytes);
+		}
+		byte[] payload = bytes;
+		int offset = 1;
+		int length = bytes.length - 1;
+		if ((marker & LZ4) != 0) {
+			length = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4]
+				& 0xFF);
+			payload = DECOMPRESSOR.decompress(bytes, COMPRESSED_HEADER, length);
+			offset = 0;
+		}
+		if ((marker & ~LZ4) == STRING) {
+			return new String(payload, offset, length, DefCharset.UTF_8_CHARSET);
+		}
+		return smileReader.readValue(payload, offset, length);
+	}
+
+	/**
+	 * 获取序列化状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public Status status() {
+		return new Status(binary, compressThreshold, encode.sum(), encodeNanos.sum(), decode.sum(), decodeNanos.sum(),
+			rawSize.sum(), size.sum(), compressed.sum(), legacy.sum());
+	}
+
+	/**
+	 * 序列化状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 是否以二进制格式写入
+		 */
+		private boolean binary;
+
+		/**
+		 * 压缩阈值,单位字节
+		 */
+		private int compressThreshold;
+
+		/**
+		 * 序列化次数
+		 */
+		private long encode;
+
+		/**
+		 * 序列化总耗时,单位纳秒
+		 */
+		private long encodeNanos;
+
+		/**
+		 * 反序列化次数
+		 */
+		private long decode;
+
+		/**
+		 * 反序列化总耗时,单位纳秒
+		 */
+		private long decodeNanos;
+
+		/**
+		 * 二进制格式下压缩前的总字节数
+		 */
+		private long rawSize;
+
+		/**
+		 * 序列化后的总字节数
+		 */
+		private long size;
+
+		/**
+		 * 压缩次数
+		 */
+		private long compressed;
+
+		/**
+		 * 读取到原有json数据的次数
+		 */
+		private long legacy;
+
+	}
+
+}
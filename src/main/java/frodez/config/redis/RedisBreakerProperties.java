@@ -0,0 +1,54 @@
+package frodez.config.redis;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+/**
+ * redis熔断配置
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Data
+@Component
+@PropertySource(value = { "classpath:settings/${spring.profiles.active}/redis.properties" })
+@ConfigurationProperties(prefix = "redis.breaker")
+public class RedisBreakerProperties {
+
+	/**
+	 * 单次调用超时时间,单位毫秒,应远小于spring.redis.timeout,默认值200
+	 */
+	private long timeout = 200;
+
+	/**
+	 * 慢调用阈值,单位毫秒。未超时但耗时超过该值的调用同样计为失败,默认值100
+	 */
+	private long slowThreshold = 100;
+
+	/**
+	 * 统计窗口,单位毫秒,默认值10000
+	 */
+	private long window = 10000;
+
+	/**
+	 * 统计窗口内触发熔断所需的最少调用次数,默认值20
+	 */
+	private int minimumCalls = 20;
+
+	/**
+	 * 触发熔断的失败率,单位百分比,默认值50
+	 */
+	private int failureRate = 50;
+
+	/**
+	 * 熔断期间后台探测redis的间隔,单位毫秒,默认值1000
+	 */
+	private long probeInterval = 1000;
+
+	/**
+	 * 阻塞型重复请求锁的安全过期时间,单位毫秒,应大于请求的最长处理时间,默认值60000
+	 */
+	private long lockTimeout = 60000;
+
+}
@@ -0,0 +1,269 @@
+package frodez.config.redis;
+
+import frodez.service.cache.base.BaseRedisCache;
+import frodez.util.constant.setting.DefTime;
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * redis熔断器<br>
+ * 通过异步命令执行redis调用,每次调用使用远小于spring.redis.timeout的超时时间,调用线程不会长时间阻塞。<br>
+ * 超时、异常和慢调用计为失败,一个统计窗口内的调用次数和失败率均达到阈值时熔断。<br>
+ * 熔断期间调用直接执行降级逻辑,不再访问redis;后台线程定期PING redis,成功后恢复。<br>
+ * 单次调用失败时同样执行降级逻辑。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+	@Autowired
+	private BaseRedisCache redisService;
+
+	@Autowired
+	private RedisBreakerProperties properties;
+
+	/**
+	 * 是否熔断
+	 */
+	private final AtomicBoolean open = new AtomicBoolean(false);
+
+	/**
+	 * 当前统计窗口
+	 */
+	private final AtomicReference<Window> window = new AtomicReference<>(new Window(System.nanoTime()));
+
+	private final LongAdder success = new LongAdder();
+
+	private final LongAdder failure = new LongAdder();
+
+	private final LongAdder timeout = new LongAdder();
+
+	private final LongAdder fallback = new LongAdder();
+
+	private final LongAdder trip = new LongAdder();
+
+	/**
+	 * 最近一次熔断的时间
+	 */
+	private volatile long openTime;
+
+	private long timeoutNanos;
+
+	private long slowNanos;
+
+	private long windowNanos;
+
+	private ScheduledExecutorService executor;
+
+	@PostConstruct
+	private void init() {
+		timeoutNanos = DefTime.UNIT.toNanos(properties.getTimeout());
+		slowNanos = DefTime.UNIT.toNanos(properties.getSlowThreshold());
+		windowNanos = DefTime.UNIT.toNanos(properties.getWindow());
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "redis-circuit-breaker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(this::probe, properties.getProbeInterval(), properties.getProbeInterval(),
+			DefTime.UNIT);
+	}
+
+	@PreDestroy
+	private void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 执行redis调用,熔断或调用失败时执行降级逻辑
+	 * @param command redis调用,返回异步结果
+	 * @param fallback 降级逻辑
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public <T> T execute(Supplier<CompletableFuture<T>> command, Supplier<T> fallback) {
+		if (open.get()) {
+			this.fallback.increment();
+			return fallback.get();
+		}
+		long start = System.nanoTime();
+		CompletableFuture<T> future = null;
+		try {
+			future = command.get();
+			T result = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+			record(System.nanoTime() - start <= slowNanos);
+			return result;
+		} catch (TimeoutException e) {
+			future.cancel(false);
+			timeout.increment();
+			record(false);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			record(false);
+		} catch (ExecutionException | RuntimeException e) {
+			log.error("[RedisCircuitBreaker]redis调用失败", e);
+			record(false);
+		}
+		this.fallback.increment();
+		return fallback.get();
+	}
+
+	/**
+	 * 当前是否熔断
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public boolean isOpen() {
+		return open.get();
+	}
+
+	private void record(boolean succeeded) {
+		if (succeeded) {
+			success.increment();
+		} else {
+			failure.increment();
+		}
+		long now = System.nanoTime();
+		Window current = window.get();
+		if (now - current.start > windowNanos) {
+			Window next = new Window(now);
+			current = window.compareAndSet(current, next) ? next : window.get();
+		}
+		long calls = current.calls.incrementAndGet();
+		long failures = succeeded ? current.failures.get() : current.failures.incrementAndGet();
+		if (!succeeded && calls >= properties.getMinimumCalls() && failures * 100 >= calls * properties
+			.getFailureRate() && open.compareAndSet(false, true)) {
+			openTime = System.currentTimeMillis();
+			trip.increment();
+			log.warn("[RedisCircuitBreaker]redis熔断,窗口内调用{}次,失败{}次", calls, failures);
+		}
+	}
+
+	/**
+	 * 熔断期间探测redis是否恢复
+	 */
+	private void probe() {
+		if (!open.get()) {
+			return;
+		}
+		try {
+			if (redisService.pingAsync().get(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				window.set(new Window(System.nanoTime()));
+				open.set(false);
+				log.info("[RedisCircuitBreaker]redis已恢复");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			//仍不可用,等待下次探测
+		}
+	}
+
+	/**
+	 * 获取熔断器状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public Status status() {
+		Window current = window.get();
+		return new Status(open.get(), openTime, current.calls.get(), current.failures.get(), success.sum(), failure
+			.sum(), timeout.sum(), fallback.sum(), trip.sum());
+	}
+
+	/**
+	 * 统计窗口
+	 */
+	private static class Window {
+
+		private final long start;
+
+		private final AtomicLong calls = new AtomicLong();
+
+		private final AtomicLong failures = new AtomicLong();
+
+		private Window(long start) {
+			this.start = start;
+		}
+
+	}
+
+	/**
+	 * 熔断器状态
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Status implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 是否熔断
+		 */
+		private boolean open;
+
+		/**
+		 * 最近一次熔断的时间
+		 */
+		private long openTime;
+
+		/**
+		 * 当前窗口的调用次数
+		 */
+		private long windowCalls;
+
+		/**
+		 * 当前窗口的失败次数
+		 */
+		private long windowFailures;
+
+		/**
+		 * 成功次数
+		 */
+		private long success;
+
+		/**
+		 * 失败次数(含超时和慢调用)
+		 */
+		private long failure;
+
+		/**
+		 * 超时次数
+		 */
+		private long timeout;
+
+		/**
+		 * 降级次数
+		 */
+		private long fallback;
+
+		/**
+		 * 熔断次数
+		 */
+		private long trip;
+
+	}
+
+}
@@ -7,10 +7,15 @@ import org.springframework.context.annotation.DependsOn;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
- * redis配置类
+ * redis配置类<br>
+ * value和hash的value使用BinaryRedisSerializer,开启二进制格式时以二进制写入,关闭时以json写入,两种格式均可读取,因此切换时原有数据仍可访问。<br>
+ * key和hash的key的格式由redis.serializer.string-key单独控制,与value的格式无关:<br>
+ * 开启时使用StringKeyRedisSerializer(String不带json引号),关闭时保持原有的json格式。<br>
+ * key的格式决定了数据的位置,切换key的格式后以原格式写入的数据将无法访问,只能在清空redis或数据全部过期后切换。<br>
  * @author Frodez
  * @date 2018-12-21
  */
@@ -18,21 +23,31 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @DependsOn("jsonUtil")
 public class RedisConfig {
 
+	/**
+	 * 获取value的序列化器
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@Bean
+	public BinaryRedisSerializer binaryRedisSerializer(RedisSerializerProperties properties) {
+		return new BinaryRedisSerializer(properties.isBinary(), properties.getCompressThreshold());
+	}
+
 	/**
 	 * 获取RedisTemplate实例
 	 * @author Frodez
 	 * @date 2018-12-21
 	 */
 	@Bean
-	public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+	public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+		RedisSerializerProperties properties, BinaryRedisSerializer serializer) {
 		RedisTemplate<Object, Object> template = new RedisTemplate<>();
 		template.setConnectionFactory(connectionFactory);
-		// 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值(如不设置,则默认使用JDK的序列化方式)
-		Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-		serializer.setObjectMapper(JSONUtil.mapper());
-		template.setKeySerializer(serializer);
+		RedisSerializer<Object> keySerializer = properties.isStringKey() ? new StringKeyRedisSerializer()
+			: jsonSerializer();
+		template.setKeySerializer(keySerializer);
 		template.setValueSerializer(serializer);
-		template.setHashKeySerializer(serializer);
+		template.setHashKeySerializer(keySerializer);
 		template.setHashValueSerializer(serializer);
 		// 使用StringRedisSerializer来序列化和反序列化redis的key值
 		template.setStringSerializer(StringRedisSerializer.UTF_8);
@@ -40,4 +55,13 @@ public class RedisConfig {
 		return template;
 	}
 
+	/**
+	 * 原有的json格式序列化器
+	 */
+	private RedisSerializer<Object> jsonSerializer() {
+		Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
+		serializer.setObjectMapper(JSONUtil.mapper());
+		return serializer;
+	}
+
 }
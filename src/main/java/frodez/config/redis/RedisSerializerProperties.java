@@ -0,0 +1,35 @@
+package frodez.config.redis;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+/**
+ * redis序列化配置
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@Data
+@Component
+@PropertySource(value = { "classpath:settings/${spring.profiles.active}/redis.properties" })
+@ConfigurationProperties(prefix = "redis.serializer")
+public class RedisSerializerProperties {
+
+	/**
+	 * value是否以二进制格式写入,默认开启。关闭时value以json写入,但可以读取二进制格式的value,用于滚动升级和回退
+	 */
+	private boolean binary = true;
+
+	/**
+	 * key和hash的key是否使用不带json引号的字符串格式,默认关闭。<br>
+	 * 切换后以原格式写入的数据将无法访问,只能在清空redis或数据全部过期后切换
+	 */
+	private boolean stringKey = false;
+
+	/**
+	 * 压缩阈值,单位字节。序列化后超过该值的value使用lz4压缩,小于等于0时不压缩,默认值1024
+	 */
+	private int compressThreshold = 1024;
+
+}
@@ -0,0 +1,43 @@
+package frodez.config.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import frodez.util.common.StrUtil;
+import frodez.util.constant.setting.DefCharset;
+import frodez.util.json.JSONUtil;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * redis的key序列化器<br>
+ * String直接使用UTF-8编码,不再带有json的引号;byte[]原样使用;其他对象使用json编码(如数字)。<br>
+ * 反序列化时统一返回String。
+ * @author Frodez
+ * @date 2019-05-27
+ */
+public class StringKeyRedisSerializer implements RedisSerializer<Object> {
+
+	@Override
+	public byte[] serialize(@Nullable Object key) throws SerializationException {
+		if (key == null) {
+			return null;
+		}
+		if (key instanceof String) {
+			return ((String) key).getBytes(DefCharset.UTF_8_CHARSET);
+		}
+		if (key instanceof byte[]) {
+			return (byte[]) key;
+		}
+		try {
+			return JSONUtil.mapper().writeValueAsBytes(key);
+		} catch (JsonProcessingException e) {
+			throw new SerializationException(StrUtil.concat("Could not write key: ", e.getMessage()), e);
+		}
+	}
+
+	@Override
+	public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+		return bytes == null ? null : new String(bytes, DefCharset.UTF_8_CHARSET);
+	}
+
+}
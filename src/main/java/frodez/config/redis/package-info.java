@@ -1,5 +1,7 @@
 /**
  * 本包用于配置redis。<br>
+ * BinaryRedisSerializer为value的二进制序列化器(smile+lz4)，可读取原有的json数据。<br>
+ * RedisCircuitBreaker为redis调用提供短超时和熔断，熔断期间由调用方降级到本地实现。<br>
  * @author Frodez
  * @date 2019-03-11
  */
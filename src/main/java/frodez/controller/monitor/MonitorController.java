@@ -0,0 +1,124 @@
+package frodez.controller.monitor;
+
+import frodez.config.aop.log.AsyncLogPipeline;
+import frodez.config.aop.log.DurationLogAdvisor;
+import frodez.config.aop.log.latency.LatencyHistogram;
+import frodez.config.aop.request.AdaptiveLimitAdvisor;
+import frodez.config.aop.request.MicroCacheAdvisor;
+import frodez.config.aop.request.limit.AdaptiveLimiter;
+import frodez.config.mvc.shed.LoadShedFilter;
+import frodez.config.mybatis.BatchWriter;
+import frodez.config.mybatis.CountCache;
+import frodez.config.redis.BinaryRedisSerializer;
+import frodez.config.redis.RedisCircuitBreaker;
+import frodez.util.beans.result.Result;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 运行状态监控控制器
+ * @author Frodez
+ * @date 2019-05-20
+ */
+@RestController
+@RequestMapping("/monitor")
+@Api(tags = "运行状态监控控制器")
+public class MonitorController {
+
+	@Autowired
+	private AdaptiveLimitAdvisor adaptiveLimitAdvisor;
+
+	@Autowired
+	private LoadShedFilter loadShedFilter;
+
+	@Autowired
+	private AsyncLogPipeline asyncLogPipeline;
+
+	@Autowired
+	private DurationLogAdvisor durationLogAdvisor;
+
+	@Autowired
+	private MicroCacheAdvisor microCacheAdvisor;
+
+	@Autowired
+	private BinaryRedisSerializer binaryRedisSerializer;
+
+	@Autowired
+	private RedisCircuitBreaker redisCircuitBreaker;
+
+	@Autowired
+	private CountCache countCache;
+
+	@Autowired
+	private BatchWriter batchWriter;
+
+	@GetMapping("/limit")
+	@ApiOperation(value = "查询自适应并发限制状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = AdaptiveLimiter.Status.class) })
+	public Result getLimitStatus() {
+		return Result.success(adaptiveLimitAdvisor.status());
+	}
+
+	@GetMapping("/shed")
+	@ApiOperation(value = "查询过载保护状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = LoadShedFilter.Status.class) })
+	public Result getShedStatus() {
+		return Result.success(loadShedFilter.status());
+	}
+
+	@GetMapping("/log")
+	@ApiOperation(value = "查询异步日志管道状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = AsyncLogPipeline.Status.class) })
+	public Result getLogStatus() {
+		return Result.success(asyncLogPipeline.status());
+	}
+
+	@GetMapping("/duration")
+	@ApiOperation(value = "查询方法耗时分布接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = LatencyHistogram.Status.class) })
+	public Result getDurationStatus() {
+		return Result.success(durationLogAdvisor.status());
+	}
+
+	@GetMapping("/microCache")
+	@ApiOperation(value = "查询响应短时缓存状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = MicroCacheAdvisor.Status.class) })
+	public Result getMicroCacheStatus() {
+		return Result.success(microCacheAdvisor.status());
+	}
+
+	@GetMapping("/redisSerializer")
+	@ApiOperation(value = "查询redis序列化状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = BinaryRedisSerializer.Status.class) })
+	public Result getRedisSerializerStatus() {
+		return Result.success(binaryRedisSerializer.status());
+	}
+
+	@GetMapping("/redisBreaker")
+	@ApiOperation(value = "查询redis熔断状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = RedisCircuitBreaker.Status.class) })
+	public Result getRedisBreakerStatus() {
+		return Result.success(redisCircuitBreaker.status());
+	}
+
+	@GetMapping("/countCache")
+	@ApiOperation(value = "查询分页总数缓存状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = CountCache.Status.class) })
+	public Result getCountCacheStatus() {
+		return Result.success(countCache.status());
+	}
+
+	@GetMapping("/batch")
+	@ApiOperation(value = "查询批量写入状态接口")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = BatchWriter.Status.class) })
+	public Result getBatchStatus() {
+		return Result.success(batchWriter.status());
+	}
+
+}
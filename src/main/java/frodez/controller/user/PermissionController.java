@@ -1,5 +1,10 @@
 package frodez.controller.user;
 
+import frodez.config.aop.log.annotation.DurationLog;
+import frodez.config.aop.request.annotation.AdaptiveLimit;
+import frodez.config.aop.request.annotation.ETag;
+import frodez.config.aop.request.annotation.MicroCache;
+import frodez.config.aop.request.etag.Aggregate;
 import frodez.dao.model.user.Permission;
 import frodez.dao.param.user.AddPermission;
 import frodez.dao.param.user.QueryRolePermission;
@@ -37,6 +42,7 @@ public class PermissionController {
 	@Autowired
 	private IAuthorityService authorityService;
 
+	@MicroCache
 	@GetMapping
 	@ApiOperation(value = "查询权限信息接口")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = PermissionDetail.class) })
@@ -44,6 +50,9 @@ public class PermissionController {
 		return authorityService.getPermission(id);
 	}
 
+	@DurationLog
+	@AdaptiveLimit
+	@ETag(Aggregate.PERMISSION)
 	@GetMapping("/page")
 	@ApiOperation(value = "分页查询权限信息接口")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = Permission.class) })
@@ -52,6 +61,7 @@ public class PermissionController {
 		return authorityService.getPermissions(param);
 	}
 
+	@ETag({ Aggregate.PERMISSION, Aggregate.ROLE_PERMISSION })
 	@GetMapping("/byRoleId")
 	@ApiOperation(value = "根据角色ID获取权限信息接口")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = PermissionInfo.class) })
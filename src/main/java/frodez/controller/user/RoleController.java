@@ -1,5 +1,8 @@
 package frodez.controller.user;
 
+import frodez.config.aop.request.annotation.ETag;
+import frodez.config.aop.request.annotation.MicroCache;
+import frodez.config.aop.request.etag.Aggregate;
 import frodez.dao.model.user.Role;
 import frodez.dao.param.user.AddRole;
 import frodez.dao.param.user.UpdateRole;
@@ -37,6 +40,7 @@ public class RoleController {
 	@Autowired
 	private IAuthorityService authorityService;
 
+	@MicroCache
 	@GetMapping
 	@ApiOperation(value = "查询角色信息接口")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = RoleDetail.class) })
@@ -51,6 +55,7 @@ public class RoleController {
 	 * @throws ExecutionException
 	 * @date 2019-03-06
 	 */
+	@ETag(Aggregate.ROLE)
 	@GetMapping("/page")
 	@ApiOperation(value = "分页查询角色信息接口")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "成功", response = Role.class) })
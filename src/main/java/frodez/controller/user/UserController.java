@@ -1,6 +1,9 @@
 package frodez.controller.user;
 
+import frodez.config.aop.request.annotation.ETag;
+import frodez.config.aop.request.annotation.MicroCache;
 import frodez.config.aop.request.annotation.RepeatLock;
+import frodez.config.aop.request.etag.Aggregate;
 import frodez.config.security.util.UserUtil;
 import frodez.dao.param.user.Doregister;
 import frodez.service.user.facade.IAuthorityService;
@@ -35,6 +38,7 @@ public class UserController {
 	private IUserService userService;
 
 	@RepeatLock
+	@ETag(value = { Aggregate.USER, Aggregate.ROLE, Aggregate.PERMISSION, Aggregate.ROLE_PERMISSION }, user = true)
 	@GetMapping("/info/self")
 	@ApiOperation(value = "查看本用户信息接口")
 	public Result getUserInfo() {
@@ -42,6 +46,7 @@ public class UserController {
 	}
 
 	@RepeatLock
+	@MicroCache
 	@GetMapping("/info/byId")
 	@ApiOperation(value = "查看用户信息接口")
 	public Result getUserInfoById(@RequestParam("userId") @ApiParam(value = "用户ID", required = true) Long userId) {
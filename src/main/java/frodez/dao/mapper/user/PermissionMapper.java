@@ -2,6 +2,7 @@ package frodez.dao.mapper.user;
 
 import frodez.config.mybatis.DataMapper;
 import frodez.dao.model.user.Permission;
+import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,4 +13,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PermissionMapper extends DataMapper<Permission> {
 
+	/**
+	 * 判断是否存在该名称的权限,使用name上的唯一索引
+	 * @author Frodez
+	 * @param name 权限名称
+	 * @date 2019-05-27
+	 */
+	boolean existsByName(@Param("name") String name);
+
 }
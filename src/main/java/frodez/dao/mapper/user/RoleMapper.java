@@ -2,6 +2,7 @@ package frodez.dao.mapper.user;
 
 import frodez.config.mybatis.DataMapper;
 import frodez.dao.model.user.Role;
+import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,4 +12,13 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface RoleMapper extends DataMapper<Role> {
+
+	/**
+	 * 判断是否存在该名称的角色,使用name上的唯一索引
+	 * @author Frodez
+	 * @param name 角色名称
+	 * @date 2019-05-27
+	 */
+	boolean existsByName(@Param("name") String name);
+
 }
\ No newline at end of file
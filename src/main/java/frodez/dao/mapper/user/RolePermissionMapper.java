@@ -24,6 +24,15 @@ public interface RolePermissionMapper extends DataMapper<RolePermission> {
 	 */
 	List<PermissionInfo> getPermissions(@Param("roleId") Long roleId);
 
+	/**
+	 * 根据角色ID获取权限信息,用于游标分页。只查询权限ID大于lastId的数据,按权限ID升序排列
+	 * @author Frodez
+	 * @param roleId 角色ID
+	 * @param lastId 上一页最后一条数据的权限ID,为null时从头查询
+	 * @date 2019-05-27
+	 */
+	List<PermissionInfo> getPermissionsAfter(@Param("roleId") Long roleId, @Param("lastId") Long lastId);
+
 	/**
 	 * 根据角色ID获取权限信息
 	 * @author Frodez
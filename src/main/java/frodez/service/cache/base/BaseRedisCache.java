@@ -1,25 +1,48 @@
 package frodez.service.cache.base;
 
 import frodez.util.common.EmptyUtil;
+import frodez.util.constant.setting.DefCharset;
 import frodez.util.constant.setting.DefTime;
 import frodez.util.json.JSONUtil;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
 /**
- * redis服务
+ * redis服务<br>
+ * 以Async结尾的方法为对应操作的异步版本,直接使用lettuce的异步命令,返回CompletableFuture,不阻塞调用线程。<br>
+ * 异步方法的回调在lettuce的io线程中执行,回调中不应执行耗时或阻塞的操作。
  * @author Frodez
  * @date 2018-12-21
  */
 @Component
 public class BaseRedisCache {
 
+	/**
+	 * SCAN每批返回的key数量,同时也是每次删除的key数量
+	 */
+	private static final int SCAN_BATCH = 500;
+
 	/**
 	 * RedisTemplate
 	 */
@@ -110,17 +133,105 @@ public class BaseRedisCache {
 	}
 
 	/**
-	 * 删除适配的key
+	 * 删除适配的key<br>
+	 * 使用SCAN分批遍历并分批删除,不会像KEYS一样长时间阻塞redis。遍历期间新增的key可能不会被删除。
 	 * @param pattern 适配器
 	 * @author Frodez
 	 * @date 2018-12-21
 	 */
 	public long deletePattern(Object pattern) {
-		Set<Object> keys = template.keys(pattern);
-		if (EmptyUtil.no(keys)) {
-			return template.delete(keys);
+		String match = new String(keySerializer().serialize(pattern), DefCharset.UTF_8_CHARSET);
+		ScanOptions options = ScanOptions.scanOptions().match(match).count(SCAN_BATCH).build();
+		Long count = template.execute((RedisCallback<Long>) connection -> {
+			long deleted = 0;
+			List<byte[]> batch = new ArrayList<>(SCAN_BATCH);
+			try (Cursor<byte[]> cursor = connection.scan(options)) {
+				while (cursor.hasNext()) {
+					batch.add(cursor.next());
+					if (batch.size() == SCAN_BATCH) {
+						deleted += delete(connection, batch);
+					}
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			return deleted + delete(connection, batch);
+		});
+		return count == null ? 0 : count;
+	}
+
+	private long delete(RedisConnection connection, List<byte[]> batch) {
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		Long count = connection.del(batch.toArray(new byte[batch.size()][]));
+		batch.clear();
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * 批量获取value(MGET),一次往返,返回值与key一一对应,不存在的key对应null
+	 * @param keys
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public List<Object> multiGet(Collection<Object> keys) {
+		if (EmptyUtil.yes(keys)) {
+			return new ArrayList<>();
+		}
+		return template.opsForValue().multiGet(keys);
+	}
+
+	/**
+	 * 批量设置value,且有过期时间<br>
+	 * 使用pipeline发送多个SET PX命令,一次往返。
+	 * @param map key和value
+	 * @param timeout 过期时间(单位毫秒),小于等于0时不过期
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public void multiSet(Map<Object, Object> map, long timeout) {
+		if (EmptyUtil.yes(map)) {
+			return;
+		}
+		if (timeout <= 0) {
+			template.opsForValue().multiSet(map);
+			return;
+		}
+		RedisSerializer<Object> keySerializer = keySerializer();
+		RedisSerializer<Object> valueSerializer = valueSerializer();
+		Expiration expiration = Expiration.milliseconds(timeout);
+		template.executePipelined((RedisCallback<Object>) connection -> {
+			for (Map.Entry<Object, Object> entry : map.entrySet()) {
+				connection.set(keySerializer.serialize(entry.getKey()), valueSerializer.serialize(entry.getValue()),
+					expiration, SetOption.upsert());
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * 批量删除key(单个DEL命令),返回删除的数量
+	 * @param keys
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public long multiDelete(Collection<Object> keys) {
+		if (EmptyUtil.yes(keys)) {
+			return 0;
 		}
-		return 0;
+		Long count = template.delete(keys);
+		return count == null ? 0 : count;
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<Object> keySerializer() {
+		return (RedisSerializer<Object>) template.getKeySerializer();
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<Object> valueSerializer() {
+		return (RedisSerializer<Object>) template.getValueSerializer();
 	}
 
 	/**
@@ -223,12 +334,235 @@ public class BaseRedisCache {
 	}
 
 	/**
-	 * 判断是否存在对应hashMap的key,返回true则存在,false则不存在
+	 * 判断是否存在对应hashMap的key,返回true则存在,false则不存在<br>
+	 * 使用HLEN判断,时间复杂度为O(1),不会取出hashMap中的值。
 	 * @author Frodez
 	 * @date 2018-12-21
 	 */
 	public boolean hmexists(Object key) {
-		return EmptyUtil.no(template.opsForHash().values(key));
+		Long size = template.opsForHash().size(key);
+		return size != null && size > 0;
+	}
+
+	/**
+	 * 获取lettuce的异步命令<br>
+	 * 使用lettuce共享的原生连接,命令发出后立即返回,同一线程可以同时发出多个命令,不占用连接池中的连接。
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@SuppressWarnings("unchecked")
+	private RedisClusterAsyncCommands<byte[], byte[]> async() {
+		LettuceConnectionFactory factory = (LettuceConnectionFactory) template.getRequiredConnectionFactory();
+		Assert.isTrue(factory.getShareNativeConnection(), "async commands require shared native connection");
+		//共享连接下关闭LettuceConnection不会关闭原生连接
+		try (RedisConnection connection = factory.getConnection()) {
+			return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<Object> hashKeySerializer() {
+		return (RedisSerializer<Object>) template.getHashKeySerializer();
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<Object> hashValueSerializer() {
+		return (RedisSerializer<Object>) template.getHashValueSerializer();
+	}
+
+	/**
+	 * 根据key获得value(异步)
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Object> getAsync(Object key) {
+		return async().get(keySerializer().serialize(key)).toCompletableFuture().thenApply(valueSerializer()
+			::deserialize);
+	}
+
+	/**
+	 * 判断是否存在对应key(异步),返回true则存在,false则不存在
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> existsAsync(Object key) {
+		return async().exists(keySerializer().serialize(key)).toCompletableFuture().thenApply((count) -> count != null
+			&& count > 0);
+	}
+
+	/**
+	 * 为key设置value(异步)
+	 * @param key
+	 * @param value
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Void> setAsync(Object key, Object value) {
+		return async().set(keySerializer().serialize(key), valueSerializer().serialize(value)).toCompletableFuture()
+			.thenApply((ok) -> null);
+	}
+
+	/**
+	 * 为key设置value,且有过期时间(异步)
+	 * @param key
+	 * @param value
+	 * @param timeout 过期时间(单位毫秒)
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Void> setAsync(Object key, Object value, long timeout) {
+		return async().set(keySerializer().serialize(key), valueSerializer().serialize(value), SetArgs.Builder.px(
+			timeout)).toCompletableFuture().thenApply((ok) -> null);
+	}
+
+	/**
+	 * 当key不存在时为key设置value,且有过期时间(SET NX PX,异步),设置成功返回true
+	 * @param key
+	 * @param value
+	 * @param timeout 过期时间(单位毫秒)
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> setIfAbsentAsync(Object key, Object value, long timeout) {
+		return async().set(keySerializer().serialize(key), valueSerializer().serialize(value), SetArgs.Builder.nx()
+			.px(timeout)).toCompletableFuture().thenApply((ok) -> ok != null);
+	}
+
+	/**
+	 * 删除key(异步),返回删除的数量
+	 * @param keys
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Long> deleteAsync(Object... keys) {
+		if (EmptyUtil.yes(keys)) {
+			return CompletableFuture.completedFuture(0L);
+		}
+		RedisSerializer<Object> keySerializer = keySerializer();
+		byte[][] rawKeys = new byte[keys.length][];
+		for (int i = 0; i < keys.length; i++) {
+			rawKeys[i] = keySerializer.serialize(keys[i]);
+		}
+		return async().del(rawKeys).toCompletableFuture();
+	}
+
+	/**
+	 * 为hashMap赋值(异步)
+	 * @param key hashMap所对应的key
+	 * @param hashMap
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Void> hmsetAsync(Object key, Map<Object, Object> hashMap) {
+		if (EmptyUtil.yes(hashMap)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		RedisSerializer<Object> hashKeySerializer = hashKeySerializer();
+		RedisSerializer<Object> hashValueSerializer = hashValueSerializer();
+		Map<byte[], byte[]> rawMap = new HashMap<>();
+		for (Map.Entry<Object, Object> entry : hashMap.entrySet()) {
+			rawMap.put(hashKeySerializer.serialize(entry.getKey()), hashValueSerializer.serialize(entry.getValue()));
+		}
+		return async().hmset(keySerializer().serialize(key), rawMap).toCompletableFuture().thenApply((ok) -> null);
+	}
+
+	/**
+	 * 根据key获取hashMap(异步)
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Map<Object, Object>> hmgetAsync(Object key) {
+		RedisSerializer<Object> hashKeySerializer = hashKeySerializer();
+		RedisSerializer<Object> hashValueSerializer = hashValueSerializer();
+		return async().hgetall(keySerializer().serialize(key)).toCompletableFuture().thenApply((rawMap) -> {
+			Map<Object, Object> map = new HashMap<>();
+			for (Map.Entry<byte[], byte[]> entry : rawMap.entrySet()) {
+				map.put(hashKeySerializer.deserialize(entry.getKey()), hashValueSerializer.deserialize(entry
+					.getValue()));
+			}
+			return map;
+		});
+	}
+
+	/**
+	 * 根据key和hashKey获取对应hashMap中的值(异步)
+	 * @param key
+	 * @param hashKey
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Object> hmgetAsync(Object key, Object hashKey) {
+		return async().hget(keySerializer().serialize(key), hashKeySerializer().serialize(hashKey))
+			.toCompletableFuture().thenApply(hashValueSerializer()::deserialize);
+	}
+
+	/**
+	 * 判断是否存在对应hashMap的key(异步),返回true则存在,false则不存在
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> hmexistsAsync(Object key) {
+		return async().hlen(keySerializer().serialize(key)).toCompletableFuture().thenApply((size) -> size != null
+			&& size > 0);
+	}
+
+	/**
+	 * 判断是否存在对应key(原始字节,不经过序列化,异步),返回true则存在,false则不存在
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> existsRawAsync(byte[] key) {
+		return async().exists(key).toCompletableFuture().thenApply((count) -> count != null && count > 0);
+	}
+
+	/**
+	 * 为key设置value(原始字节,不经过序列化,异步)
+	 * @param key
+	 * @param value
+	 * @param timeout 过期时间(单位毫秒),小于等于0时不过期
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Void> setRawAsync(byte[] key, byte[] value, long timeout) {
+		return (timeout > 0 ? async().set(key, value, SetArgs.Builder.px(timeout)) : async().set(key, value))
+			.toCompletableFuture().thenApply((ok) -> null);
+	}
+
+	/**
+	 * 当key不存在时为key设置value(原始字节,不经过序列化,异步),设置成功返回true
+	 * @param key
+	 * @param value
+	 * @param timeout 过期时间(单位毫秒),小于等于0时不过期
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> setIfAbsentRawAsync(byte[] key, byte[] value, long timeout) {
+		SetArgs args = timeout > 0 ? SetArgs.Builder.nx().px(timeout) : SetArgs.Builder.nx();
+		return async().set(key, value, args).toCompletableFuture().thenApply((ok) -> ok != null);
+	}
+
+	/**
+	 * 删除key(原始字节,不经过序列化,异步)
+	 * @param key
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> deleteRawAsync(byte[] key) {
+		return async().del(key).toCompletableFuture().thenApply((count) -> count != null && count > 0);
+	}
+
+	/**
+	 * 检查redis是否可用(PING,异步)
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public CompletableFuture<Boolean> pingAsync() {
+		return async().ping().toCompletableFuture().thenApply("PONG"::equals);
 	}
 
 }
@@ -3,6 +3,7 @@ package frodez.service.task.base;
 import com.github.pagehelper.PageHelper;
 import frodez.config.aop.validation.annotation.Check;
 import frodez.config.aop.validation.annotation.common.LegalEnum;
+import frodez.config.mybatis.Pager;
 import frodez.config.task.TaskProperties;
 import frodez.dao.mapper.task.TaskMapper;
 import frodez.dao.model.task.Task;
@@ -208,9 +209,7 @@ public class BaseTaskService {
 	@Check
 	public Result getTasks(@Valid @NotNull QueryPage param) {
 		try {
-			return Result.page(PageHelper.startPage(QueryPage.resonable(param)).doSelectPage(() -> {
-				taskMapper.selectAll();
-			}));
+			return Result.page(Pager.page(param, taskMapper, Task.class, Task::getId));
 		} catch (Exception e) {
 			log.error("[getRunningTasks]", e);
 			return Result.errorService();
@@ -1,8 +1,11 @@
 package frodez.service.user.impl;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
+import frodez.config.aop.request.etag.Aggregate;
+import frodez.config.aop.request.etag.AggregateVersions;
 import frodez.config.aop.validation.annotation.Check;
+import frodez.config.mybatis.BatchWriter;
+import frodez.config.mybatis.CountCache;
+import frodez.config.mybatis.Pager;
 import frodez.config.security.auth.AuthorityManager;
 import frodez.config.security.auth.AuthoritySource;
 import frodez.dao.mapper.user.PermissionMapper;
@@ -29,6 +32,7 @@ import frodez.service.cache.vm.facade.UserIdCache;
 import frodez.service.user.facade.IAuthorityService;
 import frodez.util.beans.pair.Pair;
 import frodez.util.beans.param.QueryPage;
+import frodez.util.beans.result.PageData;
 import frodez.util.beans.result.Result;
 import frodez.util.common.EmptyUtil;
 import frodez.util.common.StrUtil;
@@ -50,6 +54,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.validation.Valid;
@@ -96,12 +101,18 @@ public class AuthorityService implements IAuthorityService {
 	@Autowired
 	private RoleMapper roleMapper;
 
+	@Autowired
+	private BatchWriter batchWriter;
+
 	@Autowired
 	private AuthorityManager authorityManager;
 
 	@Autowired
 	private AuthoritySource authoritySource;
 
+	@Autowired
+	private AggregateVersions versions;
+
 	@Check
 	@Override
 	public Result getUserInfo(@NotNull Long userId) {
@@ -176,10 +187,8 @@ public class AuthorityService implements IAuthorityService {
 	@Override
 	public Result getUserInfos(@Valid @NotNull QueryPage param) {
 		try {
-			Page<User> page = PageHelper.startPage(QueryPage.resonable(param)).doSelectPage(() -> {
-				userMapper.selectAll();
-			});
-			return Result.page(page, getUserInfos(page.getResult()));
+			PageData<User> page = Pager.page(param, userMapper, User.class, User::getId);
+			return Result.page(page, getUserInfos(page.list()));
 		} catch (Exception e) {
 			log.error("[getUserInfos]", e);
 			return Result.errorService();
@@ -317,6 +326,7 @@ public class AuthorityService implements IAuthorityService {
 				tokenCache.save(token, item);
 			}
 		});
+		versions.bump(Aggregate.USER);
 	}
 
 	@Check
@@ -344,8 +354,7 @@ public class AuthorityService implements IAuthorityService {
 	@Override
 	public Result getPermissions(@Valid @NotNull QueryPage param) {
 		try {
-			return Result.page(PageHelper.startPage(QueryPage.resonable(param)).doSelectPage(() -> permissionMapper
-				.selectAll()));
+			return Result.page(Pager.page(param, permissionMapper, Permission.class, Permission::getId));
 		} catch (Exception e) {
 			log.error("[getAllRoles]", e);
 			return Result.errorService();
@@ -377,8 +386,7 @@ public class AuthorityService implements IAuthorityService {
 	@Override
 	public Result getRoles(@Valid @NotNull QueryPage param) {
 		try {
-			return Result.page(PageHelper.startPage(QueryPage.resonable(param)).doSelectPage(() -> roleMapper
-				.selectAll()));
+			return Result.page(Pager.page(param, roleMapper, Role.class, Role::getId));
 		} catch (Exception e) {
 			log.error("[getAllRoles]", e);
 			return Result.errorService();
@@ -389,8 +397,11 @@ public class AuthorityService implements IAuthorityService {
 	@Override
 	public Result getRolePermissions(@Valid @NotNull QueryRolePermission param) {
 		try {
-			return Result.page(PageHelper.startPage(QueryPage.resonable(param.getPage())).doSelectPage(
-				() -> rolePermissionMapper.getPermissions(param.getRoleId())));
+			CountCache.Key key = CountCache.Key.of(RolePermissionMapper.class.getName().concat(".getPermissions"),
+				param.getRoleId(), RolePermissionMapper.class, PermissionMapper.class);
+			return Result.page(Pager.page(param.getPage(), key, () -> rolePermissionMapper.getPermissions(param
+				.getRoleId()), (lastId) -> rolePermissionMapper.getPermissionsAfter(param.getRoleId(), lastId),
+				PermissionInfo::getId));
 		} catch (Exception e) {
 			log.error("[getAllPermissions]", e);
 			return Result.errorService();
@@ -402,9 +413,7 @@ public class AuthorityService implements IAuthorityService {
 	@Override
 	public Result addRole(@Valid @NotNull AddRole param) {
 		try {
-			if (roleMapper.selectAll().stream().filter((iter) -> {
-				return iter.getName().equals(param.getName());
-			}).count() != 0) {
+			if (checkRoleName(param.getName())) {
 				return Result.fail("角色不能重名!");
 			}
 			Role role = new Role();
@@ -420,8 +429,9 @@ public class AuthorityService implements IAuthorityService {
 					item.setPermissionId(id);
 					return item;
 				}).collect(Collectors.toList());
-				rolePermissionMapper.insertList(rolePermissions);
+				batchWriter.insert(rolePermissionMapper, rolePermissions);
 			}
+			versions.bump(Aggregate.ROLE, Aggregate.ROLE_PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[addRole]", e);
@@ -442,6 +452,7 @@ public class AuthorityService implements IAuthorityService {
 				return Result.fail("角色不能重名!");
 			}
 			roleMapper.updateByPrimaryKeySelective(BeanUtil.initialize(param, Role.class));
+			versions.bump(Aggregate.ROLE);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[addRole]", e);
@@ -455,9 +466,7 @@ public class AuthorityService implements IAuthorityService {
 	 * @date 2019-03-17
 	 */
 	private boolean checkRoleName(String name) {
-		return roleMapper.selectAll().stream().filter((iter) -> {
-			return iter.getName().equals(name);
-		}).count() != 0;
+		return roleMapper.existsByName(name);
 	}
 
 	/**
@@ -466,9 +475,7 @@ public class AuthorityService implements IAuthorityService {
 	 * @date 2019-03-17
 	 */
 	private boolean checkPermissionName(String name) {
-		return permissionMapper.selectAll().stream().filter((iter) -> {
-			return iter.getName().equals(name);
-		}).count() != 0;
+		return permissionMapper.existsByName(name);
 	}
 
 	@Check
@@ -489,6 +496,7 @@ public class AuthorityService implements IAuthorityService {
 			BeanUtil.copy(param, permission);
 			permission.setCreateTime(new Date());
 			permissionMapper.insert(permission);
+			versions.bump(Aggregate.PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[addPermission]", e);
@@ -522,6 +530,7 @@ public class AuthorityService implements IAuthorityService {
 				return Result.fail("权限不能重名!");
 			}
 			permissionMapper.updateByPrimaryKeySelective(BeanUtil.initialize(param, Permission.class));
+			versions.bump(Aggregate.PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[addPermission]", e);
@@ -605,7 +614,7 @@ public class AuthorityService implements IAuthorityService {
 						item.setRoleId(param.getRoleId());
 						return item;
 					}).collect(Collectors.toList());
-					rolePermissionMapper.insertList(rolePermissions);
+					batchWriter.insert(rolePermissionMapper, rolePermissions);
 					break;
 				}
 				case DELETE : {
@@ -638,7 +647,7 @@ public class AuthorityService implements IAuthorityService {
 							item.setRoleId(param.getRoleId());
 							return item;
 						}).collect(Collectors.toList());
-						rolePermissionMapper.insertList(rolePermissions);
+						batchWriter.insert(rolePermissionMapper, rolePermissions);
 					}
 					break;
 				}
@@ -649,6 +658,7 @@ public class AuthorityService implements IAuthorityService {
 			Example example = new Example(User.class);
 			example.createCriteria().andEqualTo("roleId", param.getRoleId());
 			refreshUserInfo(getUserInfos(userMapper.selectByExample(example)));
+			versions.bump(Aggregate.ROLE_PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[setRolePermission]", e);
@@ -677,6 +687,7 @@ public class AuthorityService implements IAuthorityService {
 			example = new Example(RolePermission.class);
 			example.createCriteria().andEqualTo("roleId", roleId);
 			rolePermissionMapper.deleteByExample(example);
+			versions.bump(Aggregate.ROLE, Aggregate.ROLE_PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[removeRole]", e);
@@ -703,6 +714,7 @@ public class AuthorityService implements IAuthorityService {
 			}
 			rolePermissionMapper.deleteByExample(example);
 			permissionMapper.deleteByPrimaryKey(permissionId);
+			versions.bump(Aggregate.PERMISSION, Aggregate.ROLE_PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[removePermission]", e);
@@ -718,6 +730,9 @@ public class AuthorityService implements IAuthorityService {
 	public Result scanAndCreatePermissions() {
 		try {
 			List<Permission> permissionList = new ArrayList<>();
+			//权限名称有唯一索引,跳过已存在和重复的名称
+			Set<String> names = permissionMapper.selectAll().stream().map(Permission::getName).collect(Collectors
+				.toSet());
 			Date date = new Date();
 			BeanFactoryUtils.beansOfTypeIncludingAncestors(ContextUtil.context(), HandlerMapping.class, true, false)
 				.values().stream().filter((iter) -> {
@@ -734,6 +749,9 @@ public class AuthorityService implements IAuthorityService {
 					String requestType = entry.getKey().getMethodsCondition().getMethods().stream().map(
 						RequestMethod::name).findFirst().orElse(PermissionTypeEnum.ALL.name());
 					String permissionName = ReflectUtil.getShortMethodName(entry.getValue().getMethod());
+					if (!names.add(permissionName)) {
+						return;
+					}
 					Permission permission = new Permission();
 					permission.setCreateTime(date);
 					permission.setUrl(requestUrl);
@@ -752,7 +770,10 @@ public class AuthorityService implements IAuthorityService {
 					}
 					permissionList.add(permission);
 				});
-			permissionMapper.insertList(permissionList);
+			if (EmptyUtil.no(permissionList)) {
+				batchWriter.insert(permissionMapper, permissionList);
+			}
+			versions.bump(Aggregate.PERMISSION);
 			return Result.success();
 		} catch (Exception e) {
 			log.error("[scanAndCreatePermissions]", e);
@@ -8,12 +8,19 @@ import frodez.util.constant.setting.DefPage;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
 /**
- * 通用分页查询请求参数
+ * 通用分页查询请求参数<br>
+ * 支持两种分页方式:<br>
+ * 1.普通分页:使用pageNum和pageSize,即OFFSET/LIMIT,页码越大越慢。<br>
+ * 2.游标分页:cursor不为null时使用,按id升序以(id > 上一页最后一条数据的id) LIMIT pageSize查询,任意深度的页耗时相同,忽略pageNum。<br>
+ * 首页传空字符串,之后传上一页返回的nextCursor,nextCursor为null时表示没有下一页。<br>
+ * count为是否查询总数,普通分页默认查询,游标分页默认不查询。
  * @author Frodez
  * @date 2019-03-06
  */
@@ -84,6 +91,77 @@ public class QueryPage implements IPage, Serializable {
 	@ApiModelProperty(value = "单页容量,必须大于0且小于限定值", example = "20")
 	private Integer pageSize;
 
+	/**
+	 * 游标,不为null时使用游标分页
+	 */
+	@Getter
+	@ApiModelProperty(value = "游标,不为null时使用游标分页。首页传空字符串,之后传上一页返回的nextCursor", example = "")
+	private String cursor;
+
+	/**
+	 * 是否查询总数
+	 */
+	@Getter
+	@ApiModelProperty(value = "是否查询总数,普通分页默认查询,游标分页默认不查询", example = "false")
+	private Boolean count;
+
+	/**
+	 * 是否使用游标分页
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@JsonIgnore
+	public boolean isSeek() {
+		return cursor != null;
+	}
+
+	/**
+	 * 是否需要查询总数
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@JsonIgnore
+	public boolean isNeedCount() {
+		return count == null ? !isSeek() : count;
+	}
+
+	/**
+	 * 获取游标对应的上一页最后一条数据的id,首页返回null
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	@JsonIgnore
+	public Long getLastId() {
+		return decodeCursor(cursor);
+	}
+
+	/**
+	 * 生成游标
+	 * @param lastId 本页最后一条数据的id
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static String encodeCursor(long lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(
+			lastId).array());
+	}
+
+	/**
+	 * 解析游标,游标为null或空字符串时返回null,游标不合法时抛出IllegalArgumentException
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static Long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+		if (bytes.length != Long.BYTES) {
+			throw new IllegalArgumentException("illegal cursor");
+		}
+		return ByteBuffer.wrap(bytes).getLong();
+	}
+
 	/**
 	 * 是否允许超额单页容量,内部参数,请不要暴露
 	 * @see frodez.util.constant.setting.DefPage#MAX_PAGE_SIZE
@@ -13,7 +13,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
- * 分页查询数据,所有分页查询接口均需使用此类型作为包装.
+ * 分页查询数据,所有分页查询接口均需使用此类型作为包装.<br>
+ * 游标分页时pageNum为0,nextCursor为下一页的游标;未查询总数时total为-1.
  * @author Frodez
  * @date 2019-01-13
  */
@@ -53,6 +54,17 @@ public class PageData<T> implements Serializable {
 	@ApiModelProperty(value = "分页数据")
 	private Collection<T> page;
 
+	/**
+	 * 下一页的游标,仅在游标分页时使用,为null时表示没有下一页
+	 */
+	@Getter
+	@ApiModelProperty(value = "下一页的游标,仅在游标分页时使用,为null时表示没有下一页")
+	private String nextCursor;
+
+	public PageData(int pageNum, int pageSize, long total, Collection<T> page) {
+		this(pageNum, pageSize, total, page, null);
+	}
+
 	/**
 	 * 转换成list
 	 * @author Frodez
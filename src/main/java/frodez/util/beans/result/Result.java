@@ -63,6 +63,7 @@ import org.springframework.util.concurrent.ListenableFuture;
  *
  * <pre>
  * json()方法使用jackson输出json,对常用的默认状态(无数据,默认信息的状态)进行了优化;
+ * 直接输出到响应流时,可使用ResultWriter,其预先生成了外层字节,并缓存了无数据的自定义信息结果;
  * 涉及异步时,可使用async(),用Future包装;
  * 数据类型不确定时,可使用dataType()获得数据类型;
  * httpStatus()和resultEnum()用于获取Result的http状态码和自定义状态码。
@@ -161,6 +162,15 @@ public final class Result implements Serializable {
 		return writer.writeValueAsString(this);
 	}
 
+	/**
+	 * 获取默认类型实例
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	static Result of(ResultEnum status) {
+		return DEFAULT_RESULT_CACHE.get(status);
+	}
+
 	/**
 	 * 返回成功结果(无数据)
 	 * @author Frodez
@@ -251,6 +261,37 @@ public final class Result implements Serializable {
 			data));
 	}
 
+	/**
+	 * 返回分页查询类型结果(仅在成功时使用)<br>
+	 * 用于frodez.config.mybatis.Pager的查询结果,支持游标分页.<br>
+	 * result.data的类型为frodez.util.beans.result.PageData
+	 * @see frodez.util.beans.result.PageData
+	 * @see frodez.config.mybatis.Pager
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static <T> Result page(PageData<T> page) {
+		Assert.notNull(page, "page must not be null");
+		Assert.notNull(page.getPage(), "page.getPage() must not be null");
+		return new Result(ResultEnum.SUCCESS, page);
+	}
+
+	/**
+	 * 返回分页查询类型结果(仅在成功时使用)<br>
+	 * 用于frodez.config.mybatis.Pager的查询结果,在可能会对数据进行二次处理,导致类型变化时使用.<br>
+	 * result.data的类型为frodez.util.beans.result.PageData
+	 * @see frodez.util.beans.result.PageData
+	 * @see frodez.config.mybatis.Pager
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static <T> Result page(PageData<?> page, Collection<T> data) {
+		Assert.notNull(page, "page must not be null");
+		Assert.notNull(data, "data must not be null");
+		return new Result(ResultEnum.SUCCESS, new PageData<>(page.getPageNum(), page.getPageSize(), page.getTotal(),
+			data, page.getNextCursor()));
+	}
+
 	/**
 	 * 返回失败结果(无信息)
 	 * @author Frodez
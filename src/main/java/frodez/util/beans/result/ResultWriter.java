@@ -0,0 +1,124 @@
+package frodez.util.beans.result;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import frodez.util.beans.result.Result.ResultEnum;
+import frodez.util.constant.setting.DefCharset;
+import frodez.util.json.HtmlCharacterEscapes;
+import frodez.util.json.JSONUtil;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import org.springframework.util.Assert;
+
+/**
+ * Result字节输出工具<br>
+ * 直接向输出流写入UTF-8编码的json,html字符的转义与JsonConverer一致:<br>
+ * 1.无数据且为默认信息的Result,直接写入预先生成的完整字节。<br>
+ * 2.无数据且为自定义信息的Result(如Result.fail("...")),首次输出时生成完整字节并放入有界缓存,之后直接写入缓存的字节。<br>
+ * 3.有数据的Result,先写入预先生成的外层字节(code和message部分),再将data直接流式写入,最后写入结尾。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+@UtilityClass
+public class ResultWriter {
+
+	/**
+	 * 每种状态下缓存的自定义信息数量
+	 */
+	private static final int MESSAGE_CACHE_SIZE = 256;
+
+	private static final int END = '}';
+
+	/**
+	 * Result的writer,会转义html字符
+	 */
+	private static final ObjectWriter RESULT_WRITER;
+
+	/**
+	 * data的writer,会转义html字符,写入完毕后不关闭输出流
+	 */
+	private static final ObjectWriter DATA_WRITER;
+
+	/**
+	 * 默认信息的完整字节
+	 */
+	private static final Map<ResultEnum, byte[]> DEFAULT_BYTES = new EnumMap<>(ResultEnum.class);
+
+	/**
+	 * 默认信息的外层字节,到data的值之前为止
+	 */
+	private static final Map<ResultEnum, byte[]> DEFAULT_PREFIX = new EnumMap<>(ResultEnum.class);
+
+	/**
+	 * 自定义信息的完整字节缓存,key为信息
+	 */
+	private static final Map<ResultEnum, Cache<String, byte[]>> MESSAGE_CACHE = new EnumMap<>(ResultEnum.class);
+
+	static {
+		RESULT_WRITER = JSONUtil.mapper().writerFor(Result.class).with(HtmlCharacterEscapes.instance());
+		DATA_WRITER = JSONUtil.mapper().writer().with(HtmlCharacterEscapes.instance()).without(
+			JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		//外层字节由完整字节去掉结尾的null}得到,因此与jackson的实际输出一致
+		String emptyData = "null}";
+		for (ResultEnum item : ResultEnum.values()) {
+			byte[] bytes;
+			try {
+				bytes = serialize(Result.of(item));
+			} catch (JsonProcessingException e) {
+				throw new RuntimeException(e);
+			}
+			Assert.isTrue(new String(bytes, DefCharset.UTF_8_CHARSET).endsWith(emptyData),
+				"data must be the last property of Result");
+			DEFAULT_BYTES.put(item, bytes);
+			DEFAULT_PREFIX.put(item, Arrays.copyOf(bytes, bytes.length - emptyData.length()));
+			MESSAGE_CACHE.put(item, CacheBuilder.newBuilder().maximumSize(MESSAGE_CACHE_SIZE).build());
+		}
+	}
+
+	/**
+	 * 向输出流写入Result,不会关闭输出流
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static void write(Result result, OutputStream stream) throws IOException {
+		Assert.notNull(result, "result must not be null");
+		Assert.notNull(stream, "stream must not be null");
+		ResultEnum status = result.resultEnum();
+		boolean defaultMessage = status.getDesc().equals(result.getMessage());
+		Object data = result.getData();
+		if (data == null) {
+			stream.write(defaultMessage ? DEFAULT_BYTES.get(status) : messageBytes(status, result));
+			return;
+		}
+		if (!defaultMessage) {
+			//有数据时只会使用默认信息,此处仅作保护
+			stream.write(serialize(result));
+			return;
+		}
+		stream.write(DEFAULT_PREFIX.get(status));
+		DATA_WRITER.writeValue(stream, data);
+		stream.write(END);
+	}
+
+	private static byte[] messageBytes(ResultEnum status, Result result) throws JsonProcessingException {
+		Cache<String, byte[]> cache = MESSAGE_CACHE.get(status);
+		byte[] bytes = cache.getIfPresent(result.getMessage());
+		if (bytes == null) {
+			bytes = serialize(result);
+			cache.put(result.getMessage(), bytes);
+		}
+		return bytes;
+	}
+
+	private static byte[] serialize(Result result) throws JsonProcessingException {
+		return RESULT_WRITER.writeValueAsBytes(result);
+	}
+
+}
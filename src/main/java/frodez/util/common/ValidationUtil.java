@@ -4,6 +4,9 @@ import frodez.util.constant.setting.DefDesc;
 import frodez.util.constant.setting.DefStr;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -31,6 +34,11 @@ public class ValidationUtil {
 	 */
 	private static final String PROPERTIESADDRESS = "others/validate-messages";
 
+	/**
+	 * hibernate-validator默认错误信息配置文件位置(classpath下)
+	 */
+	private static final String DEFAULT_PROPERTIESADDRESS = "org.hibernate.validator.ValidationMessages";
+
 	/**
 	 * 快速失败(出现第一个错误即返回)
 	 */
@@ -103,6 +111,63 @@ public class ValidationUtil {
 		return firstError.getMessage();
 	}
 
+	/**
+	 * 对级联验证(@Valid)的方法参数进行验证,如果验证通过,返回null<br>
+	 * 返回的错误信息与validateParam相同:错误定位于对象本身时,使用参数名作为定位。<br>
+	 * 参数为空时不做验证,直接返回null。
+	 * @author Frodez
+	 * @param object 需要验证的参数
+	 * @param parameterName 参数名
+	 * @date 2019-05-26
+	 */
+	public static String validateCascade(final Object object, String parameterName) {
+		if (object == null) {
+			return null;
+		}
+		Set<ConstraintViolation<Object>> set = VAL.validate(object);
+		if (set.isEmpty()) {
+			return null;
+		}
+		ConstraintViolation<Object> firstError = set.iterator().next();
+		String name = parameterName;
+		for (Node node : firstError.getPropertyPath()) {
+			ElementKind kind = node.getKind();
+			if (kind == ElementKind.CONTAINER_ELEMENT || kind == ElementKind.CROSS_PARAMETER
+				|| kind == ElementKind.PARAMETER || kind == ElementKind.PROPERTY) {
+				name = node.getName();
+			}
+		}
+		return StrUtil.concat(name, DefStr.SEPERATOR, firstError.getMessage());
+	}
+
+	/**
+	 * 解析错误信息模板,模板形如{key}时从错误信息配置文件中获取,获取不到时返回原模板。<br>
+	 * 仅解析配置文件中的key,不处理参数和表达式。
+	 * @author Frodez
+	 * @param template 错误信息模板
+	 * @date 2019-05-26
+	 */
+	public static String resolveMessage(String template) {
+		if (template.length() < 2 || template.charAt(0) != '{' || template.charAt(template.length() - 1) != '}') {
+			return template;
+		}
+		String key = template.substring(1, template.length() - 1);
+		Locale locale = Locale.getDefault();
+		for (ResourceBundle bundle : new ResourceBundle[] { new PlatformResourceBundleLocator(PROPERTIESADDRESS)
+			.getResourceBundle(locale), new PlatformResourceBundleLocator(DEFAULT_PROPERTIESADDRESS).getResourceBundle(
+				locale) }) {
+			if (bundle == null) {
+				continue;
+			}
+			try {
+				return bundle.getString(key);
+			} catch (MissingResourceException e) {
+				continue;
+			}
+		}
+		return template;
+	}
+
 	/**
 	 * 更改错误信息
 	 * @author Frodez
@@ -2,9 +2,11 @@ package frodez.util.http;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import frodez.util.beans.result.Result;
+import frodez.util.beans.result.ResultWriter;
 import frodez.util.common.EmptyUtil;
 import frodez.util.constant.setting.DefCharset;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.InetAddress;
 import javax.servlet.http.HttpServletRequest;
@@ -102,10 +104,10 @@ public class ServletUtil {
 		response.setStatus(result.httpStatus().value());
 		response.setCharacterEncoding(DefCharset.UTF_8);
 		response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
-		PrintWriter out = null;
+		OutputStream out = null;
 		try {
-			out = response.getWriter();
-			out.append(result.json());
+			out = response.getOutputStream();
+			ResultWriter.write(result, out);
 			out.flush();
 		} finally {
 			if (out != null) {
@@ -0,0 +1,57 @@
+package frodez.util.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * jackson的html字符转义<br>
+ * 在jackson输出字符串值时直接转义html字符(双引号,单引号,&,尖括号),转义规则与guava的HtmlEscapers.htmlEscaper()一致。<br>
+ * 只对字符串值生效,json结构本身的引号不受影响,其他字符使用jackson的默认转义。<br>
+ * @author Frodez
+ * @date 2019-05-27
+ */
+public class HtmlCharacterEscapes extends CharacterEscapes {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final HtmlCharacterEscapes INSTANCE = new HtmlCharacterEscapes();
+
+	private final int[] asciiEscapes;
+
+	private final SerializableString[] sequences = new SerializableString[128];
+
+	private HtmlCharacterEscapes() {
+		asciiEscapes = standardAsciiEscapesForJSON();
+		escape('"', "&quot;");
+		escape('\'', "&#39;");
+		escape('&', "&amp;");
+		escape('<', "&lt;");
+		escape('>', "&gt;");
+	}
+
+	/**
+	 * 获取实例
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static HtmlCharacterEscapes instance() {
+		return INSTANCE;
+	}
+
+	private void escape(char character, String sequence) {
+		asciiEscapes[character] = ESCAPE_CUSTOM;
+		sequences[character] = new SerializedString(sequence);
+	}
+
+	@Override
+	public int[] getEscapeCodesForAscii() {
+		return asciiEscapes;
+	}
+
+	@Override
+	public SerializableString getEscapeSequence(int ch) {
+		return ch < sequences.length ? sequences[ch] : null;
+	}
+
+}
@@ -1,14 +1,19 @@
 package frodez.util.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import frodez.util.common.EmptyUtil;
-import frodez.util.common.StrUtil;
 import frodez.util.spring.ContextUtil;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,6 +23,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -26,7 +34,9 @@ import org.springframework.util.Assert;
  * json工具类<br>
  * 本工具类使用的ObjectMapper是jackson的springboot-starter所自动配置得到的,不会使得项目中引入两个不同的ObjectMapper。<br>
  * 本工具类对html字符的转义做了专门处理。<br>
- * 本工具类大量采用缓存,可较大程度上提高速度。<br>
+ * 本工具类大量采用缓存,可较大程度上提高速度。带泛型的类型按JavaType或元素类型缓存reader,不再拼接类名作为key。<br>
+ * 本工具类提供流式接口:iterator方法逐个读取json数组中的元素,write方法直接写入OutputStream或Writer,均无需生成完整的中间对象。<br>
+ * 本工具类同时提供smile(二进制json)格式的读写,smile使用的ObjectMapper与json使用相同的配置。<br>
  * @author Frodez
  * @date 2018-11-27
  */
@@ -44,29 +54,46 @@ public class JSONUtil {
 	@SuppressWarnings("rawtypes")
 	private static Class<HashSet> DEFAULT_SET_CLASS = HashSet.class;
 
-	private static String DEFAULT_MAP_CLASS_NAME = DEFAULT_MAP_CLASS.getName();
-
-	private static String DEFAULT_LIST_CLASS_NAME = DEFAULT_LIST_CLASS.getName();
-
-	private static String DEFAULT_SET_CLASS_NAME = DEFAULT_SET_CLASS.getName();
-
 	private static ObjectReader DEFAULT_MAP_READER;
 
 	private static Map<Class<?>, ObjectReader> singleClassReaderCache = new ConcurrentHashMap<>();
 
 	private static Map<Type, ObjectReader> singleTypeReaderCache = new ConcurrentHashMap<>();
 
-	private static Map<String, ObjectReader> multiClassReaderCache = new ConcurrentHashMap<>();
+	private static Map<Class<?>, ObjectReader> listReaderCache = new ConcurrentHashMap<>();
+
+	private static Map<Class<?>, ObjectReader> setReaderCache = new ConcurrentHashMap<>();
+
+	private static Map<Class<?>, Map<Class<?>, ObjectReader>> mapReaderCache = new ConcurrentHashMap<>();
+
+	private static Map<JavaType, ObjectReader> javaTypeReaderCache = new ConcurrentHashMap<>();
 
 	private static Map<Class<?>, ObjectWriter> writerCache = new ConcurrentHashMap<>();
 
+	private static ObjectMapper SMILE_MAPPER;
+
+	private static Map<Type, ObjectReader> smileReaderCache = new ConcurrentHashMap<>();
+
+	private static Map<Class<?>, ObjectWriter> smileWriterCache = new ConcurrentHashMap<>();
+
 	@PostConstruct
 	private void init() {
 		OBJECT_MAPPER = ContextUtil.get(ObjectMapper.class);
 		DEFAULT_MAP_READER = OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(
 			DEFAULT_MAP_CLASS, String.class, Object.class));
+		//smile的ObjectMapper应用与json相同的springboot配置(spring.jackson.*和注册的module)
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.smile();
+		builder.applicationContext(ContextUtil.context());
+		List<Jackson2ObjectMapperBuilderCustomizer> customizers = new ArrayList<>(ContextUtil.gets(
+			Jackson2ObjectMapperBuilderCustomizer.class).values());
+		AnnotationAwareOrderComparator.sort(customizers);
+		for (Jackson2ObjectMapperBuilderCustomizer customizer : customizers) {
+			customizer.customize(builder);
+		}
+		SMILE_MAPPER = builder.build();
 		Assert.notNull(OBJECT_MAPPER, "OBJECT_MAPPER must not be null");
 		Assert.notNull(DEFAULT_MAP_READER, "DEFAULT_MAP_READER must not be null");
+		Assert.isTrue(SMILE_MAPPER.getFactory() instanceof SmileFactory, "SMILE_MAPPER must use SmileFactory");
 	}
 
 	/**
@@ -78,6 +105,43 @@ public class JSONUtil {
 		return OBJECT_MAPPER;
 	}
 
+	/**
+	 * 获取smile格式的jackson对象
+	 * @author Frodez
+	 * @date 2019-05-27
+	 */
+	public static ObjectMapper smileMapper() {
+		return SMILE_MAPPER;
+	}
+
+	/**
+	 * 将对象以smile格式写入OutputStream,写入完毕后不关闭OutputStream
+	 * @author Frodez
+	 * @param object 对象
+	 * @param stream 输出流
+	 * @date 2019-05-27
+	 */
+	public static void smile(Object object, OutputStream stream) throws IOException {
+		Assert.notNull(object, "object must not be null");
+		Assert.notNull(stream, "stream must not be null");
+		smileWriterCache.computeIfAbsent(object.getClass(), (o) -> SMILE_MAPPER.writerFor(object.getClass()).without(
+			JsonGenerator.Feature.AUTO_CLOSE_TARGET)).writeValue(stream, object);
+	}
+
+	/**
+	 * 将InputStream中smile格式的数据转换成对象
+	 * @author Frodez
+	 * @param stream 输入流
+	 * @param type 对象类型
+	 * @date 2019-05-27
+	 */
+	public static <T> T smile(InputStream stream, Type type) throws IOException {
+		Assert.notNull(stream, "stream must not be null");
+		Assert.notNull(type, "type must not be null");
+		return smileReaderCache.computeIfAbsent(type, (k) -> SMILE_MAPPER.readerFor(SMILE_MAPPER.getTypeFactory()
+			.constructType(type))).readValue(stream);
+	}
+
 	/**
 	 * 将对象转换成json字符串
 	 * @author Frodez
@@ -87,13 +151,99 @@ public class JSONUtil {
 	public static String string(Object object) {
 		Assert.notNull(object, "object must not be null");
 		try {
-			return writerCache.computeIfAbsent(object.getClass(), (o) -> OBJECT_MAPPER.writerFor(object.getClass()))
-				.writeValueAsString(object);
+			return writer(object.getClass()).writeValueAsString(object);
 		} catch (JsonProcessingException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	/**
+	 * 将对象以json格式写入OutputStream,编码为UTF-8,写入完毕后不关闭OutputStream
+	 * @author Frodez
+	 * @param object 对象
+	 * @param stream 输出流
+	 * @date 2019-05-27
+	 */
+	public static void write(Object object, OutputStream stream) {
+		Assert.notNull(object, "object must not be null");
+		Assert.notNull(stream, "stream must not be null");
+		try {
+			writer(object.getClass()).writeValue(stream, object);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * 将对象以json格式写入Writer,写入完毕后不关闭Writer
+	 * @author Frodez
+	 * @param object 对象
+	 * @param writer 输出
+	 * @date 2019-05-27
+	 */
+	public static void write(Object object, Writer writer) {
+		Assert.notNull(object, "object must not be null");
+		Assert.notNull(writer, "writer must not be null");
+		try {
+			writer(object.getClass()).writeValue(writer, object);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * 逐个读取InputStream中json数组的元素,不会一次性生成整个List<br>
+	 * 如果数据不是数组,则视为连续的多个对象。使用完毕后需关闭返回的迭代器。
+	 * @author Frodez
+	 * @param stream 输入流
+	 * @param klass 元素类型
+	 * @date 2019-05-27
+	 */
+	public static <T> MappingIterator<T> iterator(InputStream stream, Class<T> klass) {
+		Assert.notNull(stream, "stream must not be null");
+		Assert.notNull(klass, "klass must not be null");
+		try {
+			return singleClassReaderCache.computeIfAbsent(klass, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER
+				.getTypeFactory().constructType(klass))).readValues(stream);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * 获取JavaType对应的reader
+	 * @author Frodez
+	 * @param type 类型
+	 * @date 2019-05-27
+	 */
+	public static ObjectReader reader(JavaType type) {
+		Assert.notNull(type, "type must not be null");
+		return javaTypeReaderCache.computeIfAbsent(type, (k) -> OBJECT_MAPPER.readerFor(type));
+	}
+
+	/**
+	 * writer写入完毕后不关闭输出
+	 */
+	private static ObjectWriter writer(Class<?> klass) {
+		return writerCache.computeIfAbsent(klass, (k) -> OBJECT_MAPPER.writerFor(klass).without(
+			JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+	}
+
+	private static ObjectReader listReader(Class<?> klass) {
+		return listReaderCache.computeIfAbsent(klass, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory()
+			.constructCollectionType(DEFAULT_LIST_CLASS, klass)));
+	}
+
+	private static ObjectReader setReader(Class<?> klass) {
+		return setReaderCache.computeIfAbsent(klass, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory()
+			.constructCollectionType(DEFAULT_SET_CLASS, klass)));
+	}
+
+	private static ObjectReader mapReader(Class<?> k, Class<?> v) {
+		return mapReaderCache.computeIfAbsent(k, (i) -> new ConcurrentHashMap<>()).computeIfAbsent(v, (i) -> OBJECT_MAPPER
+			.readerFor(OBJECT_MAPPER.getTypeFactory().constructMapType(DEFAULT_MAP_CLASS, k, v)));
+	}
+
 	/**
 	 * 将InputStream的数据转换成Map
 	 * @author Frodez
@@ -141,9 +291,7 @@ public class JSONUtil {
 		Assert.notNull(k, "k must not be null");
 		Assert.notNull(v, "v must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_MAP_CLASS_NAME, k.getName(), v
-				.getName()), (i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(
-					DEFAULT_MAP_CLASS, k, v))).readValue(stream);
+			return mapReader(k, v).readValue(stream);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -162,9 +310,7 @@ public class JSONUtil {
 		Assert.notNull(k, "k must not be null");
 		Assert.notNull(v, "v must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_MAP_CLASS_NAME, k.getName(), v
-				.getName()), (i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(
-					DEFAULT_MAP_CLASS, k, v))).readValue(json);
+			return mapReader(k, v).readValue(json);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -181,9 +327,7 @@ public class JSONUtil {
 		Assert.notNull(stream, "stream must not be null");
 		Assert.notNull(stream, "stream must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_LIST_CLASS_NAME, klass.getName()), (
-				i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(DEFAULT_LIST_CLASS,
-					klass))).readValue(stream);
+			return listReader(klass).readValue(stream);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -200,9 +344,7 @@ public class JSONUtil {
 		Assert.notNull(json, "json must not be null");
 		Assert.notNull(klass, "klass must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_LIST_CLASS_NAME, klass.getName()), (
-				i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(DEFAULT_LIST_CLASS,
-					klass))).readValue(json);
+			return listReader(klass).readValue(json);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -219,9 +361,7 @@ public class JSONUtil {
 		Assert.notNull(stream, "stream must not be null");
 		Assert.notNull(klass, "klass must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_SET_CLASS_NAME, klass.getName()), (
-				i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(DEFAULT_SET_CLASS,
-					klass))).readValue(stream);
+			return setReader(klass).readValue(stream);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -238,9 +378,7 @@ public class JSONUtil {
 		Assert.notNull(json, "json must not be null");
 		Assert.notNull(klass, "klass must not be null");
 		try {
-			return multiClassReaderCache.computeIfAbsent(StrUtil.concat(DEFAULT_SET_CLASS_NAME, klass.getName()), (
-				i) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructParametricType(DEFAULT_SET_CLASS,
-					klass))).readValue(json);
+			return setReader(klass).readValue(json);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -333,13 +471,8 @@ public class JSONUtil {
 				return singleClassReaderCache.computeIfAbsent(parametrized, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER
 					.getTypeFactory().constructType(parametrized))).readValue(stream);
 			} else {
-				StringBuilder builder = new StringBuilder(parametrized.getName());
-				for (Class<?> klass : genericClasses) {
-					builder.append(klass.getName());
-				}
-				return multiClassReaderCache.computeIfAbsent(builder.toString(), (i) -> OBJECT_MAPPER.readerFor(
-					OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))).readValue(
-						stream);
+				return reader(OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))
+					.readValue(stream);
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -361,13 +494,8 @@ public class JSONUtil {
 				return singleClassReaderCache.computeIfAbsent(parametrized, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER
 					.getTypeFactory().constructType(parametrized))).readValue(json);
 			} else {
-				StringBuilder builder = new StringBuilder(parametrized.getName());
-				for (Class<?> klass : genericClasses) {
-					builder.append(klass.getName());
-				}
-				return multiClassReaderCache.computeIfAbsent(builder.toString(), (i) -> OBJECT_MAPPER.readerFor(
-					OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))).readValue(
-						json);
+				return reader(OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))
+					.readValue(json);
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -389,13 +517,8 @@ public class JSONUtil {
 				return singleClassReaderCache.computeIfAbsent(parametrized, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER
 					.getTypeFactory().constructType(parametrized))).readValue(json);
 			} else {
-				StringBuilder builder = new StringBuilder(parametrized.getName());
-				for (Class<?> klass : genericClasses) {
-					builder.append(klass.getName());
-				}
-				return multiClassReaderCache.computeIfAbsent(builder.toString(), (i) -> OBJECT_MAPPER.readerFor(
-					OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))).readValue(
-						json);
+				return reader(OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))
+					.readValue(json);
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -417,13 +540,8 @@ public class JSONUtil {
 				return singleClassReaderCache.computeIfAbsent(parametrized, (k) -> OBJECT_MAPPER.readerFor(OBJECT_MAPPER
 					.getTypeFactory().constructType(parametrized))).readValue(stream);
 			} else {
-				StringBuilder builder = new StringBuilder(parametrized.getName());
-				for (Class<?> klass : genericClasses) {
-					builder.append(klass.getName());
-				}
-				return multiClassReaderCache.computeIfAbsent(builder.toString(), (i) -> OBJECT_MAPPER.readerFor(
-					OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))).readValue(
-						stream);
+				return reader(OBJECT_MAPPER.getTypeFactory().constructParametricType(parametrized, genericClasses))
+					.readValue(stream);
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -0,0 +1,52 @@
+-- 热点查询所需的索引
+-- 脚本可重复执行:索引已存在(如由新版others/blog.sql创建)时跳过
+-- 创建唯一索引前需确保已有数据中不存在重复值
+
+-- tb_user.uk_name: 登录和getUserInfo(String)按用户名查询
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_user` ADD UNIQUE INDEX `uk_name`(`name`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_user' AND INDEX_NAME = 'uk_name');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_user.idx_role_id: 按角色查询用户
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_user` ADD INDEX `idx_role_id`(`role_id`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_user' AND INDEX_NAME = 'idx_role_id');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_role.uk_name: 角色名称唯一性检查
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_role` ADD UNIQUE INDEX `uk_name`(`name`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_role' AND INDEX_NAME = 'uk_name');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_permission.uk_name: 权限名称唯一性检查
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_permission` ADD UNIQUE INDEX `uk_name`(`name`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_permission' AND INDEX_NAME = 'uk_name');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_role_permission.idx_role_id_permission_id: getPermissions和batchGetPermissions按角色连接权限,以及按角色删除权限
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_role_permission` ADD INDEX `idx_role_id_permission_id`(`role_id`, `permission_id`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_role_permission' AND INDEX_NAME = 'idx_role_id_permission_id');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_role_permission.idx_permission_id: 删除权限时按权限删除角色权限
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_role_permission` ADD INDEX `idx_permission_id`(`permission_id`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_role_permission' AND INDEX_NAME = 'idx_permission_id');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- tb_article.idx_user_id: 按作者查询文章
+SET @sql = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `tb_article` ADD INDEX `idx_user_id`(`user_id`) USING BTREE', 'DO 0')
+  FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tb_article' AND INDEX_NAME = 'idx_user_id');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,82 @@
+package frodez;
+
+import frodez.config.aop.request.checker.facade.AutoChecker;
+import frodez.config.aop.request.checker.facade.RequestKey;
+import frodez.config.aop.request.checker.impl.AutoWheelChecker;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CheckerTest {
+
+	@Autowired
+	@Qualifier("timeoutWheelChecker")
+	private AutoChecker wheelChecker;
+
+	@Autowired
+	@Qualifier("timeoutGuavaChecker")
+	private AutoChecker guavaChecker;
+
+	@Test
+	public void test() throws InterruptedException {
+		int keySize = 1 << 21;
+		int threads = Runtime.getRuntime().availableProcessors();
+		RequestKey[] keys = new RequestKey[keySize];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < keySize; i++) {
+			keys[i] = new RequestKey(random.nextLong(), i);
+		}
+		benchmark("wheel", wheelChecker, keys, threads);
+		System.out.println("wheel剩余记录数:" + ((AutoWheelChecker) wheelChecker).size());
+		benchmark("guava", guavaChecker, keys, threads);
+	}
+
+	private void benchmark(String name, AutoChecker checker, RequestKey[] keys, int threads) throws InterruptedException {
+		long timeout = 60000;
+		long start = System.nanoTime();
+		for (RequestKey key : keys) {
+			checker.tryLock(key, timeout);
+		}
+		long duration = System.nanoTime() - start;
+		System.out.println(name + "单线程加锁" + keys.length + "个key,平均耗时:" + duration / keys.length + "ns");
+		start = System.nanoTime();
+		int hits = 0;
+		for (RequestKey key : keys) {
+			if (checker.check(key)) {
+				hits++;
+			}
+		}
+		duration = System.nanoTime() - start;
+		System.out.println(name + "单线程检查" + keys.length + "个key,命中" + hits + "个,平均耗时:" + duration / keys.length + "ns");
+		LongAdder locked = new LongAdder();
+		CountDownLatch latch = new CountDownLatch(threads);
+		int rounds = keys.length;
+		start = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < rounds; i++) {
+					//一半为已存在的key,一半为短超时的新key
+					RequestKey key = keys[random.nextInt(keys.length)];
+					if (checker.tryLock(random.nextBoolean() ? key : new RequestKey(key.getHigh(), ~key.getLow()), 100)) {
+						locked.increment();
+					}
+				}
+				latch.countDown();
+			}).start();
+		}
+		latch.await();
+		duration = System.nanoTime() - start;
+		System.out.println(name + threads + "线程并发加锁" + (long) rounds * threads + "次,成功" + locked.sum() + "次,吞吐量:"
+			+ (long) rounds * threads * 1000 / Math.max(duration / 1000000, 1) + "次/秒");
+	}
+
+}
@@ -0,0 +1,50 @@
+package frodez;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * 检查热点查询的执行计划能够使用db/migration中创建的索引<br>
+ * 表中数据很少时优化器可能选择全表扫描,因此检查possible_keys而不是key。
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ExplainTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private void assertIndex(String sql, String table, String index) {
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+		for (Map<String, Object> row : plan) {
+			System.out.println(row);
+		}
+		Map<String, Object> row = plan.stream().filter((iter) -> table.equals(iter.get("table"))).findFirst().orElse(
+			null);
+		Assert.assertNotNull(table + " not in plan", row);
+		Object keys = row.get("possible_keys");
+		Assert.assertTrue(sql + " can not use " + index, keys != null && keys.toString().contains(index));
+	}
+
+	@Test
+	public void test() {
+		assertIndex("SELECT * FROM tb_user WHERE name = 'test'", "tb_user", "uk_name");
+		assertIndex("SELECT * FROM tb_user WHERE role_id = 1", "tb_user", "idx_role_id");
+		assertIndex("SELECT 1 FROM tb_role WHERE name = 'test' LIMIT 1", "tb_role", "uk_name");
+		assertIndex("SELECT 1 FROM tb_permission WHERE name = 'test' LIMIT 1", "tb_permission", "uk_name");
+		assertIndex("SELECT tb_permission.id FROM tb_permission INNER JOIN tb_role_permission ON "
+			+ "tb_role_permission.permission_id = tb_permission.id AND tb_role_permission.role_id = 1",
+			"tb_role_permission", "idx_role_id_permission_id");
+		assertIndex("SELECT * FROM tb_role_permission WHERE permission_id = 1", "tb_role_permission",
+			"idx_permission_id");
+		assertIndex("SELECT * FROM tb_article WHERE user_id = 1", "tb_article", "idx_user_id");
+	}
+
+}
@@ -0,0 +1,129 @@
+package frodez;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import frodez.dao.model.user.Role;
+import frodez.util.json.JSONUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class JSONTest {
+
+	private List<Role> roles(int size) {
+		List<Role> roles = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Role role = new Role();
+			role.setId((long) i);
+			role.setCreateTime(new Date());
+			role.setName("role" + i);
+			role.setLevel((byte) (i % 100));
+			role.setDescription("<description>" + i);
+			roles.add(role);
+		}
+		return roles;
+	}
+
+	@Test
+	public void test() throws IOException {
+		List<Role> roles = roles(1000);
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		JSONUtil.write(roles, stream);
+		Assert.assertEquals(JSONUtil.string(roles), stream.toString("UTF-8"));
+		int count = 0;
+		try (MappingIterator<Role> iterator = JSONUtil.iterator(new ByteArrayInputStream(stream.toByteArray()),
+			Role.class)) {
+			while (iterator.hasNext()) {
+				Assert.assertEquals(roles.get(count).getName(), iterator.next().getName());
+				count++;
+			}
+		}
+		Assert.assertEquals(roles.size(), count);
+		Map<String, Role> map = JSONUtil.map(JSONUtil.string(Collections.singletonMap("role", roles.get(0))),
+			String.class, Role.class);
+		Assert.assertEquals(roles.get(0).getName(), map.get("role").getName());
+	}
+
+	@Test
+	public void benchmark() throws IOException {
+		int rounds = 200;
+		List<Role> roles = roles(10000);
+		byte[] bytes = JSONUtil.string(roles).getBytes("UTF-8");
+		for (int i = 0; i < 2; i++) {
+			long start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				JSONUtil.string(roles).getBytes("UTF-8");
+			}
+			System.out.println("string+getBytes:" + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				JSONUtil.write(roles, new ByteArrayOutputStream(bytes.length));
+			}
+			System.out.println("write(OutputStream):" + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				for (Role role : JSONUtil.list(new ByteArrayInputStream(bytes), Role.class)) {
+					role.getId();
+				}
+			}
+			System.out.println("list(InputStream):" + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				try (MappingIterator<Role> iterator = JSONUtil.iterator(new ByteArrayInputStream(bytes), Role.class)) {
+					while (iterator.hasNext()) {
+						iterator.next().getId();
+					}
+				}
+			}
+			System.out.println("iterator(InputStream):" + (System.currentTimeMillis() - start) + "ms");
+		}
+		String json = JSONUtil.string(roles.get(0));
+		int lookups = 1000000;
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < lookups; i++) {
+			JSONUtil.as(json, Role.class);
+		}
+		System.out.println("as(Class):" + (System.currentTimeMillis() - start) + "ms");
+		start = System.currentTimeMillis();
+		for (int i = 0; i < lookups; i++) {
+			JSONUtil.as("[]", List.class, Role.class);
+		}
+		System.out.println("as(Class, Class...):" + (System.currentTimeMillis() - start) + "ms");
+		//afterburner与反射的对比
+		ObjectMapper plain = JSONUtil.mapper().copy();
+		ObjectMapper afterburner = JSONUtil.mapper().copy().registerModule(new AfterburnerModule());
+		for (ObjectMapper mapper : new ObjectMapper[] { plain, afterburner, plain, afterburner }) {
+			ObjectWriter writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class,
+				Role.class));
+			ObjectReader reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class,
+				Role.class));
+			String name = mapper == plain ? "reflection" : "afterburner";
+			start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				writer.writeValueAsBytes(roles);
+			}
+			System.out.println(name + " serialize:" + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			for (int j = 0; j < rounds; j++) {
+				reader.readValue(bytes);
+			}
+			System.out.println(name + " deserialize:" + (System.currentTimeMillis() - start) + "ms");
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+package frodez;
+
+import frodez.config.mybatis.Pager;
+import frodez.util.beans.param.QueryPage;
+import frodez.util.beans.result.PageData;
+import frodez.util.common.ValidationUtil;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class PagerTest {
+
+	private QueryPage page(int pageSize, String cursor) {
+		QueryPage page = new QueryPage(pageSize);
+		ReflectionTestUtils.setField(page, "cursor", cursor);
+		return page;
+	}
+
+	private List<Long> ids(long from, long to) {
+		return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+	}
+
+	/**
+	 * 模拟游标分页查询:id大于lastId的数据按id升序取pageSize + 1条
+	 */
+	private List<Long> seek(List<Long> table, Long lastId, int pageSize) {
+		return table.stream().filter((iter) -> lastId == null || iter > lastId).limit(pageSize + 1).collect(
+			Collectors.toList());
+	}
+
+	@Test
+	public void testCursorRoundTrip() {
+		for (long id : new long[] { 0, 1, 4734977, Integer.MAX_VALUE + 1L, Long.MAX_VALUE }) {
+			String cursor = QueryPage.encodeCursor(id);
+			Assert.assertEquals(Long.valueOf(id), QueryPage.decodeCursor(cursor));
+			Assert.assertEquals(Long.valueOf(id), page(10, cursor).getLastId());
+			//url安全且无填充
+			Assert.assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+		}
+		Assert.assertNull(QueryPage.decodeCursor(null));
+		Assert.assertNull(QueryPage.decodeCursor(""));
+		Assert.assertTrue(page(10, "").isSeek());
+		Assert.assertNull(page(10, "").getLastId());
+		Assert.assertFalse(page(10, null).isSeek());
+	}
+
+	@Test
+	public void testInvalidCursor() {
+		String tooShort = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[] { 1, 2, 3 });
+		String tooLong = Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES + 1)
+			.putLong(1).array());
+		String truncated = QueryPage.encodeCursor(100).substring(1);
+		String[] cursors = new String[] { "!!!!", "a b", "+/+/+/+/+/8", tooShort, tooLong, truncated };
+		for (String cursor : cursors) {
+			try {
+				QueryPage.decodeCursor(cursor);
+				Assert.fail("cursor " + cursor + " should be rejected");
+			} catch (IllegalArgumentException e) {
+				//预期结果
+			}
+			String message = ValidationUtil.validate(page(10, cursor));
+			Assert.assertNotNull(message);
+			Assert.assertTrue(message, message.contains("cursor不合法"));
+		}
+		Assert.assertNull(ValidationUtil.validate(page(10, QueryPage.encodeCursor(100))));
+		Assert.assertNull(ValidationUtil.validate(page(10, "")));
+	}
+
+	@Test
+	public void testHasNextBoundary() {
+		int pageSize = 3;
+		//多查询的一条存在,有下一页,游标为本页最后一条数据的id
+		PageData<Long> data = Pager.seekPage(ids(1, 4), pageSize, -1, Long::longValue);
+		Assert.assertEquals(ids(1, 3), data.list());
+		Assert.assertEquals(QueryPage.encodeCursor(3), data.getNextCursor());
+		//最后一页恰好满页,没有下一页
+		data = Pager.seekPage(ids(4, 6), pageSize, -1, Long::longValue);
+		Assert.assertEquals(ids(4, 6), data.list());
+		Assert.assertNull(data.getNextCursor());
+		//最后一页不满页
+		data = Pager.seekPage(ids(7, 8), pageSize, -1, Long::longValue);
+		Assert.assertEquals(ids(7, 8), data.list());
+		Assert.assertNull(data.getNextCursor());
+		//空页
+		data = Pager.seekPage(new ArrayList<>(), pageSize, -1, Long::longValue);
+		Assert.assertTrue(data.list().isEmpty());
+		Assert.assertNull(data.getNextCursor());
+		Assert.assertEquals(0, data.getPageNum());
+		Assert.assertEquals(pageSize, data.getPageSize());
+		Assert.assertEquals(-1, data.getTotal());
+	}
+
+	@Test
+	public void testWalkAllPages() {
+		int pageSize = 3;
+		//总数恰好为单页容量的整数倍,以及不是整数倍的情况
+		for (long size : new long[] { 0, 1, 3, 6, 7 }) {
+			List<Long> table = ids(1, size);
+			List<Long> walked = new ArrayList<>();
+			String cursor = "";
+			int pages = 0;
+			while (cursor != null) {
+				QueryPage page = page(pageSize, cursor);
+				PageData<Long> data = Pager.seekPage(seek(table, page.getLastId(), pageSize), pageSize, -1,
+					Long::longValue);
+				walked.addAll(data.list());
+				cursor = data.getNextCursor();
+				pages++;
+			}
+			Assert.assertEquals(table, walked);
+			//不会出现多余的空页
+			Assert.assertEquals(Math.max(1, (size + pageSize - 1) / pageSize), pages);
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package frodez;
+
+import frodez.config.redis.BinaryRedisSerializer;
+import frodez.config.redis.StringKeyRedisSerializer;
+import frodez.dao.model.user.Role;
+import frodez.util.json.JSONUtil;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RedisSerializerTest {
+
+	private List<Role> roles(int size) {
+		List<Role> roles = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Role role = new Role();
+			role.setId((long) i);
+			role.setCreateTime(new Date());
+			role.setName("role" + i);
+			role.setLevel((byte) (i % 100));
+			role.setDescription("description" + i);
+			roles.add(role);
+		}
+		return roles;
+	}
+
+	private Jackson2JsonRedisSerializer<Object> json() {
+		Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
+		serializer.setObjectMapper(JSONUtil.mapper());
+		return serializer;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test() {
+		BinaryRedisSerializer serializer = new BinaryRedisSerializer(true, 1024);
+		Jackson2JsonRedisSerializer<Object> json = json();
+		//字符串
+		Assert.assertEquals("value", serializer.deserialize(serializer.serialize("value")));
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			builder.append("value");
+		}
+		Assert.assertEquals(builder.toString(), serializer.deserialize(serializer.serialize(builder.toString())));
+		//对象,读取结果与json相同
+		List<Role> roles = roles(100);
+		Object expected = json.deserialize(json.serialize(roles));
+		Assert.assertEquals(expected, serializer.deserialize(serializer.serialize(roles)));
+		Assert.assertEquals(((List<Map<String, Object>>) expected).subList(0, 1), serializer.deserialize(serializer
+			.serialize(roles.subList(0, 1))));
+		//原有的json数据
+		Assert.assertEquals(expected, serializer.deserialize(json.serialize(roles)));
+		Assert.assertEquals("value", serializer.deserialize(json.serialize("value")));
+		Assert.assertTrue(serializer.status().getCompressed() > 0);
+		Assert.assertEquals(2L, serializer.status().getLegacy());
+		//关闭二进制格式时与json相同
+		BinaryRedisSerializer fallback = new BinaryRedisSerializer(false, 1024);
+		Assert.assertArrayEquals(json.serialize(roles), fallback.serialize(roles));
+		Assert.assertEquals(expected, fallback.deserialize(serializer.serialize(roles)));
+		//key
+		StringKeyRedisSerializer keySerializer = new StringKeyRedisSerializer();
+		Assert.assertEquals("key", new String(keySerializer.serialize("key")));
+		Assert.assertEquals("key", keySerializer.deserialize(keySerializer.serialize("key")));
+		Assert.assertEquals("1", keySerializer.deserialize(keySerializer.serialize(1L)));
+	}
+
+	@Test
+	public void benchmark() {
+		int rounds = 10000;
+		Jackson2JsonRedisSerializer<Object> json = json();
+		BinaryRedisSerializer smile = new BinaryRedisSerializer(true, 0);
+		BinaryRedisSerializer lz4 = new BinaryRedisSerializer(true, 256);
+		for (int size : new int[] { 1, 10, 100 }) {
+			List<Role> roles = roles(size);
+			for (int i = 0; i < 2; i++) {
+				byte[] bytes = json.serialize(roles);
+				long start = System.currentTimeMillis();
+				for (int j = 0; j < rounds; j++) {
+					json.deserialize(json.serialize(roles));
+				}
+				System.out.println("json " + size + ":" + (System.currentTimeMillis() - start) + "ms, " + bytes.length
+					+ "bytes");
+				bytes = smile.serialize(roles);
+				start = System.currentTimeMillis();
+				for (int j = 0; j < rounds; j++) {
+					smile.deserialize(smile.serialize(roles));
+				}
+				System.out.println("smile " + size + ":" + (System.currentTimeMillis() - start) + "ms, " + bytes.length
+					+ "bytes");
+				bytes = lz4.serialize(roles);
+				start = System.currentTimeMillis();
+				for (int j = 0; j < rounds; j++) {
+					lz4.deserialize(lz4.serialize(roles));
+				}
+				System.out.println("smile+lz4 " + size + ":" + (System.currentTimeMillis() - start) + "ms, "
+					+ bytes.length + "bytes");
+			}
+		}
+		System.out.println(smile.status());
+		System.out.println(lz4.status());
+	}
+
+}
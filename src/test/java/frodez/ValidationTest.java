@@ -1,7 +1,9 @@
 package frodez;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import frodez.config.aop.validation.annotation.Check;
 import frodez.config.aop.validation.annotation.special.DateTime;
+import frodez.config.aop.validation.checker.ParameterChecker;
 import frodez.dao.param.user.AddPermission;
 import frodez.dao.param.user.QueryRolePermission;
 import frodez.service.user.facade.IAuthorityService;
@@ -9,12 +11,22 @@ import frodez.util.beans.param.QueryPage;
 import frodez.util.beans.result.Result;
 import frodez.util.common.ValidationUtil;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import lombok.Data;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Service;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -23,6 +35,9 @@ public class ValidationTest {
 	@Autowired
 	private IAuthorityService authorityService;
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	public void test() throws JsonProcessingException, InvocationTargetException {
 		QueryRolePermission param = new QueryRolePermission();
@@ -45,6 +60,69 @@ public class ValidationTest {
 		System.out.println(ValidationUtil.validate(bean));
 	}
 
+	@Test
+	public void benchmark() {
+		int rounds = 100000;
+		for (Object bean : context.getBeansWithAnnotation(Service.class).values()) {
+			Object target = AopTestUtils.getUltimateTargetObject(bean);
+			Class<?> klass = AopUtils.getTargetClass(target);
+			for (Method method : klass.getDeclaredMethods()) {
+				if (method.getAnnotation(Check.class) == null) {
+					continue;
+				}
+				ParameterChecker checker = ParameterChecker.compile(method);
+				List<Object[]> cases = new ArrayList<>();
+				cases.add(new Object[method.getParameterCount()]);
+				cases.add(sample(method));
+				for (Object[] args : cases) {
+					String expected = ValidationUtil.validateParam(target, method, args);
+					String actual = checker.check(target, args);
+					if (expected == null ? actual != null : !expected.equals(actual)) {
+						System.out.println(method + "结果不一致,hibernate:" + expected + ",checker:" + actual);
+					}
+					long start = System.nanoTime();
+					for (int i = 0; i < rounds; i++) {
+						ValidationUtil.validateParam(target, method, args);
+					}
+					long hibernate = (System.nanoTime() - start) / rounds;
+					start = System.nanoTime();
+					for (int i = 0; i < rounds; i++) {
+						checker.check(target, args);
+					}
+					long fast = (System.nanoTime() - start) / rounds;
+					System.out.println(klass.getSimpleName() + "." + method.getName() + (checker.isFallback() ? "(回退)"
+						: "") + " hibernate:" + hibernate + "ns, checker:" + fast + "ns, 结果:" + actual);
+				}
+			}
+		}
+	}
+
+	private Object[] sample(Method method) {
+		Class<?>[] types = method.getParameterTypes();
+		Object[] args = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			Class<?> type = types[i];
+			if (type == Long.class) {
+				args[i] = 1L;
+			} else if (type == String.class) {
+				args[i] = "frodez";
+			} else if (type == Byte.class) {
+				args[i] = (byte) 1;
+			} else if (type == boolean.class) {
+				args[i] = false;
+			} else if (type == List.class) {
+				args[i] = Collections.singletonList(1L);
+			} else if (type == Map.class) {
+				args[i] = Collections.emptyMap();
+			} else if (type == QueryPage.class) {
+				args[i] = new QueryPage(1, 20);
+			} else if (!type.isPrimitive() && !type.isInterface()) {
+				args[i] = BeanUtils.instantiateClass(type);
+			}
+		}
+		return args;
+	}
+
 	@Data
 	public static class ValidationBean {
 